@@ -0,0 +1,142 @@
+package com.rishabh.ecom.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files benchmark by benchmark (including @Param values).
+ * A change is a regression when it is worse than the threshold percentage AND larger
+ * than the combined error margins of both runs, so noisy benchmarks don't flap.
+ * Benchmarks in only one of the files are listed, so a stale baseline shows up in the report.
+ */
+public class BaselineComparator {
+
+    public static final double DEFAULT_THRESHOLD_PCT = 10.0;
+
+    // Describe the machine that recorded the run, not the result
+    private static final List<String> MACHINE_FIELDS = List.of("jvm", "jvmArgs");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final double thresholdPct;
+
+    public BaselineComparator(double thresholdPct) {
+        this.thresholdPct = thresholdPct;
+    }
+
+    record Score(String mode, double score, double error, String unit) {}
+
+    record Row(String benchmark, Score baseline, Score current, double changePct, boolean regression) {}
+
+    public record Report(List<Row> rows, List<String> missing, List<String> unbaselined, double thresholdPct) {
+
+        public boolean hasRegressions() {
+            return rows.stream().anyMatch(Row::regression);
+        }
+
+        public String render() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%-85s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change"));
+            for (Row row : rows) {
+                sb.append(String.format("%-85s %14.3f %14.3f %+8.1f%% %s%n",
+                    row.benchmark(), row.baseline().score(), row.current().score(), row.changePct(),
+                    row.regression() ? "REGRESSION" : ""));
+            }
+            for (String name : missing) {
+                sb.append(String.format("%-85s %s%n", name, "missing from current run"));
+            }
+            for (String name : unbaselined) {
+                sb.append(String.format("%-85s %s%n", name, "not in baseline"));
+            }
+            if (!unbaselined.isEmpty()) {
+                sb.append(String.format("WARNING: %d benchmark(s) not in the baseline; regenerate it%n",
+                    unbaselined.size()));
+            }
+            sb.append(hasRegressions()
+                ? String.format("FAILED: regressions beyond %.1f%%%n", thresholdPct)
+                : String.format("OK: no regressions beyond %.1f%%%n", thresholdPct));
+            return sb.toString();
+        }
+    }
+
+    public Report compare(Path baselineFile, Path currentFile) throws IOException {
+        Map<String, Score> baseline = read(baselineFile);
+        Map<String, Score> current = read(currentFile);
+
+        List<Row> rows = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, Score> entry : baseline.entrySet()) {
+            Score before = entry.getValue();
+            Score after = current.get(entry.getKey());
+            if (after == null) {
+                missing.add(entry.getKey());
+                continue;
+            }
+            // Throughput modes: higher is better. Time modes: lower is better.
+            boolean higherIsBetter = "thrpt".equals(before.mode());
+            double delta = after.score() - before.score();
+            double changePct = before.score() == 0 ? 0 : 100.0 * delta / before.score();
+            double worsePct = higherIsBetter ? -changePct : changePct;
+            boolean beyondNoise = Math.abs(delta) > safe(before.error()) + safe(after.error());
+            rows.add(new Row(entry.getKey(), before, after, changePct, worsePct > thresholdPct && beyondNoise));
+        }
+        List<String> unbaselined = current.keySet().stream()
+            .filter(name -> !baseline.containsKey(name))
+            .toList();
+        return new Report(rows, missing, unbaselined, thresholdPct);
+    }
+
+    /**
+     * Writes a run as a baseline, without the fields that only describe the recording machine.
+     */
+    public void promote(Path currentFile, Path baselineFile) throws IOException {
+        ArrayNode results = (ArrayNode) objectMapper.readTree(currentFile.toFile());
+        for (JsonNode result : results) {
+            ((ObjectNode) result).remove(MACHINE_FIELDS);
+        }
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(baselineFile.toFile(), results);
+    }
+
+    private Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new TreeMap<>();
+        for (JsonNode result : objectMapper.readTree(file.toFile())) {
+            JsonNode metric = result.get("primaryMetric");
+            scores.put(key(result), new Score(
+                result.get("mode").asText(),
+                metric.get("score").asDouble(),
+                metric.path("scoreError").asDouble(Double.NaN),
+                metric.get("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    private static String key(JsonNode result) {
+        String name = result.get("benchmark").asText().replace("com.rishabh.ecom.bench.", "");
+        JsonNode params = result.get("params");
+        if (params == null || params.isEmpty()) {
+            return name;
+        }
+        Map<String, String> sorted = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            sorted.put(field.getKey(), field.getValue().asText());
+        }
+        return name + sorted;
+    }
+
+    private static double safe(double error) {
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
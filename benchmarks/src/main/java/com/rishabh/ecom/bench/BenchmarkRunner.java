@@ -0,0 +1,98 @@
+package com.rishabh.ecom.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Entry point of benchmarks.jar.
+ *
+ * Run:      java -jar benchmarks.jar [--include REGEX] [--out FILE] [--baseline FILE] [--threshold PCT] [--quick]
+ * Compare:  java -jar benchmarks.jar compare BASELINE.json CURRENT.json [--threshold PCT]
+ * Promote:  java -jar benchmarks.jar promote CURRENT.json BASELINE.json
+ *
+ * With --baseline the fresh results are compared against the stored baseline and the
+ * process exits with status 1 if any benchmark regressed by more than the threshold.
+ * Record baselines with the full settings (no --quick): a quick run's error margins are
+ * wide enough to hide most regressions.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("compare")) {
+            if (args.length < 3) {
+                throw new IllegalArgumentException("Usage: compare BASELINE.json CURRENT.json [--threshold PCT]");
+            }
+            double threshold = doubleOption(args, "--threshold", BaselineComparator.DEFAULT_THRESHOLD_PCT);
+            System.exit(compare(Path.of(args[1]), Path.of(args[2]), threshold));
+        }
+        if (args.length > 0 && args[0].equals("promote")) {
+            if (args.length < 3) {
+                throw new IllegalArgumentException("Usage: promote CURRENT.json BASELINE.json");
+            }
+            new BaselineComparator(BaselineComparator.DEFAULT_THRESHOLD_PCT).promote(Path.of(args[1]), Path.of(args[2]));
+            return;
+        }
+
+        String include = option(args, "--include", "com\\.rishabh\\.ecom\\.bench\\..*");
+        Path out = Path.of(option(args, "--out", "results/current.json"));
+        String baseline = option(args, "--baseline", null);
+        double threshold = doubleOption(args, "--threshold", BaselineComparator.DEFAULT_THRESHOLD_PCT);
+        boolean quick = hasFlag(args, "--quick");
+
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .include(include)
+            .resultFormat(ResultFormatType.JSON)
+            .result(out.toString())
+            .forks(quick ? 1 : 2)
+            .warmupIterations(quick ? 2 : 5)
+            .warmupTime(TimeValue.seconds(quick ? 1 : 2))
+            .measurementIterations(quick ? 3 : 5)
+            .measurementTime(TimeValue.seconds(quick ? 1 : 2));
+        new Runner(options.build()).run();
+
+        if (baseline != null) {
+            System.exit(compare(Path.of(baseline), out, threshold));
+        }
+    }
+
+    private static int compare(Path baseline, Path current, double threshold) throws Exception {
+        BaselineComparator.Report report = new BaselineComparator(threshold).compare(baseline, current);
+        System.out.println(report.render());
+        return report.hasRegressions() ? 1 : 0;
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name)) {
+                return args[i + 1];
+            }
+        }
+        return defaultValue;
+    }
+
+    private static double doubleOption(String[] args, String name, double defaultValue) {
+        String value = option(args, name, null);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    private static boolean hasFlag(String[] args, String name) {
+        for (String arg : args) {
+            if (arg.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,68 @@
+package com.rishabh.ecom.bench;
+
+import com.rishabh.ecom.config.RedisCacheConfig;
+import com.rishabh.ecom.product.Product;
+import com.rishabh.ecom.product.dto.ProductDtos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Redis cache value serializers on the "products" (search page) and "productById" payloads.
+ * Spring unwraps Optional before caching, so the by-id entry is a bare Product.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CacheSerializerBenchmark {
+
+    @Param({"20", "200"})
+    public int pageSize;
+
+    private SerializationPair<Object> values;
+    private SerializationPair<Object> pageValues;
+    private ProductDtos.PageResponse<ProductDtos.Summary> page;
+    private Product product;
+    private ByteBuffer serializedPage;
+    private ByteBuffer serializedProduct;
+
+    @Setup
+    public void setUp() {
+        RedisCacheConfig config = new RedisCacheConfig();
+        values = config.cacheConfiguration().getValueSerializationPair();
+        pageValues = config.productsCacheConfiguration().getValueSerializationPair();
+        page = Fixtures.summaryPage(pageSize);
+        product = Fixtures.page(1).getContent().get(0);
+        serializedPage = pageValues.write(page);
+        serializedProduct = values.write(product);
+    }
+
+    @Benchmark
+    public ByteBuffer serializePage() {
+        return pageValues.write(page);
+    }
+
+    @Benchmark
+    public Object deserializePage() {
+        return pageValues.read(serializedPage.duplicate());
+    }
+
+    @Benchmark
+    public ByteBuffer serializeProduct() {
+        return values.write(product);
+    }
+
+    @Benchmark
+    public Object deserializeProduct() {
+        return values.read(serializedProduct.duplicate());
+    }
+}
@@ -0,0 +1,67 @@
+package com.rishabh.ecom.bench;
+
+import com.rishabh.ecom.product.Product;
+import com.rishabh.ecom.product.dto.ProductDtos;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic, realistically sized payloads shared by the benchmarks.
+ */
+final class Fixtures {
+
+    private static final String[] WORDS = {
+        "wireless", "ergonomic", "stainless", "organic", "compact", "premium", "portable",
+        "waterproof", "rechargeable", "vintage", "modular", "lightweight", "durable", "smart"
+    };
+    private static final String[] NOUNS = {
+        "keyboard", "backpack", "kettle", "headphones", "lamp", "bottle", "chair", "charger"
+    };
+
+    private Fixtures() {}
+
+    static Product product(long id, Random random) {
+        String noun = NOUNS[random.nextInt(NOUNS.length)];
+        StringBuilder description = new StringBuilder();
+        while (description.length() < 300) {
+            description.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        Instant created = Instant.parse("2025-01-01T00:00:00Z").plusSeconds(id * 3_600);
+        return Product.builder()
+            .id(id)
+            .name(WORDS[random.nextInt(WORDS.length)] + " " + noun + " " + id)
+            .description(description.toString().trim())
+            .price(BigDecimal.valueOf(random.nextInt(100_000), 2))
+            .sku("SKU-" + noun.substring(0, 3).toUpperCase() + "-" + String.format("%06d", id))
+            .stockQty(random.nextInt(500))
+            .createdAt(created)
+            .updatedAt(created.plusSeconds(random.nextInt(86_400)))
+            .build();
+    }
+
+    static Page<Product> page(int size) {
+        Random random = new Random(42);
+        List<Product> content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            content.add(product(i + 1, random));
+        }
+        return new PageImpl<>(content, PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "createdAt")), 10_000);
+    }
+
+    /**
+     * The search endpoint's payload: a compact envelope of listing rows.
+     */
+    static ProductDtos.PageResponse<ProductDtos.Summary> summaryPage(int size) {
+        Page<Product> page = page(size);
+        return ProductDtos.PageResponse.of(page.map(p ->
+            new ProductDtos.Summary(p.getId(), p.getSku(), p.getName(), p.getPrice(), p.getStockQty())));
+    }
+}
@@ -0,0 +1,42 @@
+package com.rishabh.ecom.bench;
+
+import com.rishabh.ecom.auth.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue on login/signup and token verification on every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(
+            "CHANGE_ME_TO_A_RANDOM_64+_CHAR_SECRET_IN_PRODUCTION_USE_ENV_VAR_OR_SECRET_MANAGER", 3600, "ecom-api");
+        token = jwtService.generateToken("bench@example.com", Set.of("ROLE_USER", "ROLE_ADMIN"));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken("bench@example.com", Set.of("ROLE_USER", "ROLE_ADMIN"));
+    }
+
+    @Benchmark
+    public Object parseToken() {
+        return jwtService.parseToken(token);
+    }
+}
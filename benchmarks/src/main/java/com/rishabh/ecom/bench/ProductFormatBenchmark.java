@@ -0,0 +1,75 @@
+package com.rishabh.ecom.bench;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rishabh.ecom.config.BinaryFormatsConfig;
+import com.rishabh.ecom.product.Product;
+import com.rishabh.ecom.product.dto.ProductDtos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of each negotiated format (JSON, CBOR, Smile) on the search page and
+ * single-product payloads. Payload sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private JavaType pageType;
+    private ProductDtos.PageResponse<ProductDtos.Summary> page;
+    private Product product;
+    private byte[] encodedPage;
+    private byte[] encodedProduct;
+
+    @Setup
+    public void setUp() throws Exception {
+        mapper = switch (format) {
+            case "cbor" -> BinaryFormatsConfig.cborMapper(Jackson2ObjectMapperBuilder.json());
+            case "smile" -> BinaryFormatsConfig.smileMapper(Jackson2ObjectMapperBuilder.json());
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        pageType = mapper.getTypeFactory().constructParametricType(ProductDtos.PageResponse.class, ProductDtos.Summary.class);
+        page = Fixtures.summaryPage(200);
+        product = Fixtures.product(1, new Random(7));
+        encodedPage = mapper.writeValueAsBytes(page);
+        encodedProduct = mapper.writeValueAsBytes(product);
+        System.out.printf("%n[payload] format=%s page(200)=%d bytes product=%d bytes%n",
+            format, encodedPage.length, encodedProduct.length);
+    }
+
+    @Benchmark
+    public byte[] encodePage() throws Exception {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public Object decodePage() throws Exception {
+        return mapper.readValue(encodedPage, pageType);
+    }
+
+    @Benchmark
+    public byte[] encodeProduct() throws Exception {
+        return mapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public Object decodeProduct() throws Exception {
+        return mapper.readValue(encodedProduct, Product.class);
+    }
+}
@@ -0,0 +1,46 @@
+package com.rishabh.ecom.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rishabh.ecom.product.Product;
+import com.rishabh.ecom.product.dto.ProductDtos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson rendering of ProductController responses, using Spring Boot's default ObjectMapper setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ProductDtos.PageResponse<ProductDtos.Summary> page;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        page = Fixtures.summaryPage(20);
+        product = Fixtures.product(1, new Random(7));
+    }
+
+    @Benchmark
+    public byte[] renderSearchPage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] renderProduct() throws Exception {
+        return objectMapper.writeValueAsBytes(product);
+    }
+}
@@ -0,0 +1,280 @@
+package com.rishabh.ecom.loadtest;
+
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk-loads a realistic synthetic catalog and user base into the schema created by the
+ * app's Flyway migrations (V1__init.sql, V2__users_roles_jwt.sql).
+ *
+ * - Products get unique SKUs, word-salad names and 200-600 char descriptions, skewed prices
+ *   and stock (about 5% out of stock), and timestamps spread over two years
+ * - Users are loaduser-0000001@example.com ... with ROLE_USER, plus loadadmin@example.com
+ *   with ROLE_ADMIN; all share one password so only a single BCrypt hash is computed
+ * - Inserts use multi-row batches (rewriteBatchedStatements) across several connections
+ */
+public class CatalogGenerator {
+
+    public static final String USER_EMAIL_FORMAT = "loaduser-%07d@example.com";
+    public static final String ADMIN_EMAIL = "loadadmin@example.com";
+    public static final String PASSWORD = "LoadTest123!";
+
+    private static final String[] ADJECTIVES = {
+        "Wireless", "Ergonomic", "Stainless", "Organic", "Compact", "Premium", "Portable", "Waterproof",
+        "Rechargeable", "Vintage", "Modular", "Lightweight", "Durable", "Smart", "Classic", "Foldable"
+    };
+    private static final String[] MATERIALS = {
+        "Bamboo", "Steel", "Leather", "Cotton", "Aluminium", "Ceramic", "Glass", "Oak", "Carbon", "Wool"
+    };
+    private static final String[] NOUNS = {
+        "Keyboard", "Backpack", "Kettle", "Headphones", "Desk Lamp", "Water Bottle", "Office Chair",
+        "Charger", "Notebook", "Sneakers", "Jacket", "Monitor Stand", "Coffee Grinder", "Yoga Mat"
+    };
+    private static final String[] PHRASES = {
+        "built for everyday use", "with a two-year warranty", "designed in collaboration with experts",
+        "ideal for travel and commuting", "easy to clean", "made from responsibly sourced materials",
+        "available in several colours", "engineered for long battery life", "ships in recyclable packaging"
+    };
+
+    /** Every Redis cache the app fills from the products table (RedisCacheConfig, "name::key"). */
+    private static final List<String> CACHED_PRODUCT_PATTERNS = List.of(
+        "products::*", "productFields::*", "productById::*", "productBodies::*", "productIdBySku::*");
+
+    record Options(String jdbcUrl, String user, String password, long products, int users,
+                   int threads, int batchSize, boolean truncate, String redisUri, long seed) {
+
+        static Options from(Args args) {
+            return new Options(
+                args.get("jdbc-url", "jdbc:mysql://localhost:3306/shop?useSSL=false&allowPublicKeyRetrieval=true"
+                    + "&serverTimezone=UTC&rewriteBatchedStatements=true"),
+                args.get("db-user", "app"),
+                args.get("db-password", "app"),
+                args.getLong("products", 1_000_000),
+                args.getInt("users", 100_000),
+                args.getInt("threads", 4),
+                args.getInt("batch-size", 2_000),
+                args.getFlag("truncate"),
+                args.get("redis-uri", "redis://localhost:6379"),
+                args.getLong("seed", 42));
+        }
+    }
+
+    private final Options options;
+
+    public CatalogGenerator(Options options) {
+        this.options = options;
+    }
+
+    public void run() throws Exception {
+        long started = System.nanoTime();
+        if (options.truncate()) {
+            truncate();
+        }
+        loadProducts();
+        loadUsers();
+        clearRedisCaches();
+        System.out.printf("Done in %s%n", Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(options.jdbcUrl(), options.user(), options.password());
+    }
+
+    private void truncate() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("SET FOREIGN_KEY_CHECKS = 0");
+            statement.execute("TRUNCATE TABLE user_roles");
+            statement.execute("TRUNCATE TABLE users");
+            statement.execute("TRUNCATE TABLE products");
+            // Ids restart at 1, so old tombstones would otherwise report reused ids as deleted
+            statement.execute("TRUNCATE TABLE product_tombstones");
+            statement.execute("SET FOREIGN_KEY_CHECKS = 1");
+        }
+        System.out.println("Truncated products, product_tombstones, users and user_roles");
+    }
+
+    private void loadProducts() throws Exception {
+        long total = options.products();
+        int threads = Math.max(1, options.threads());
+        long perThread = (total + threads - 1) / threads;
+        AtomicLong inserted = new AtomicLong();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> parts = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long from = t * perThread;
+                long to = Math.min(total, from + perThread);
+                long seed = options.seed() + t;
+                parts.add(pool.submit(() -> {
+                    insertProducts(from, to, new SplittableRandom(seed), inserted, total);
+                    return null;
+                }));
+            }
+            for (Future<?> part : parts) {
+                part.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        System.out.printf("Products: %,d inserted%n", inserted.get());
+    }
+
+    private void insertProducts(long from, long to, SplittableRandom random, AtomicLong inserted, long total)
+            throws SQLException {
+        Instant now = Instant.now();
+        long twoYears = Duration.ofDays(730).toSeconds();
+        try (Connection connection = connect();
+             PreparedStatement insert = connection.prepareStatement(
+                 "INSERT IGNORE INTO products (sku, name, description, price, stock_qty, created_at, updated_at) "
+                     + "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            connection.setAutoCommit(false);
+            int pending = 0;
+            for (long n = from; n < to; n++) {
+                String noun = NOUNS[random.nextInt(NOUNS.length)];
+                Instant created = now.minusSeconds(random.nextLong(twoYears));
+                Instant updated = created.plusSeconds(random.nextLong(Math.max(1, now.getEpochSecond() - created.getEpochSecond())));
+
+                insert.setString(1, String.format("SKU-%s-%08d", noun.substring(0, 3).toUpperCase(), n));
+                insert.setString(2, ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                    + MATERIALS[random.nextInt(MATERIALS.length)] + " " + noun);
+                insert.setString(3, description(random, noun));
+                insert.setBigDecimal(4, price(random));
+                insert.setInt(5, random.nextInt(100) < 5 ? 0 : random.nextInt(1, 1_000));
+                insert.setTimestamp(6, Timestamp.from(created));
+                insert.setTimestamp(7, Timestamp.from(updated));
+                insert.addBatch();
+
+                if (++pending == options.batchSize()) {
+                    flush(connection, insert, pending, inserted, total);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                flush(connection, insert, pending, inserted, total);
+            }
+        }
+    }
+
+    private static void flush(Connection connection, PreparedStatement insert, int rows, AtomicLong inserted, long total)
+            throws SQLException {
+        insert.executeBatch();
+        connection.commit();
+        long done = inserted.addAndGet(rows);
+        if (done % 100_000 < rows) {
+            System.out.printf("  products %,d / %,d%n", done, total);
+        }
+    }
+
+    private static String description(SplittableRandom random, String noun) {
+        int target = random.nextInt(200, 600);
+        StringBuilder sb = new StringBuilder("A ").append(noun.toLowerCase());
+        while (sb.length() < target) {
+            sb.append(' ').append(PHRASES[random.nextInt(PHRASES.length)]).append(',');
+        }
+        sb.setCharAt(sb.length() - 1, '.');
+        return sb.toString();
+    }
+
+    /**
+     * Log-normal-ish: most items are cheap, a long tail is expensive.
+     */
+    private static BigDecimal price(SplittableRandom random) {
+        double value = Math.exp(random.nextDouble(1.0, 8.0));
+        return BigDecimal.valueOf(Math.round(value * 100), 2);
+    }
+
+    private void loadUsers() throws SQLException {
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+        Timestamp now = Timestamp.from(Instant.now());
+
+        try (Connection connection = connect()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT IGNORE INTO users (email, password, enabled, created_at, updated_at) VALUES (?, ?, TRUE, ?, ?)")) {
+                insert.setString(1, ADMIN_EMAIL);
+                insert.setString(2, hash);
+                insert.setTimestamp(3, now);
+                insert.setTimestamp(4, now);
+                insert.addBatch();
+                for (int n = 1; n <= options.users(); n++) {
+                    insert.setString(1, String.format(USER_EMAIL_FORMAT, n));
+                    insert.setString(2, hash);
+                    insert.setTimestamp(3, now);
+                    insert.setTimestamp(4, now);
+                    insert.addBatch();
+                    if (n % options.batchSize() == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+                insert.executeBatch();
+                connection.commit();
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate(
+                    "INSERT IGNORE INTO user_roles (user_id, role_id) "
+                        + "SELECT u.id, r.id FROM users u JOIN roles r ON r.name = 'ROLE_USER' "
+                        + "WHERE u.email LIKE 'load%@example.com'");
+                statement.executeUpdate(
+                    "INSERT IGNORE INTO user_roles (user_id, role_id) "
+                        + "SELECT u.id, r.id FROM users u JOIN roles r ON r.name = 'ROLE_ADMIN' "
+                        + "WHERE u.email = '" + ADMIN_EMAIL + "'");
+            }
+            connection.commit();
+        }
+        System.out.printf("Users: %,d + %s (password %s)%n", options.users(), ADMIN_EMAIL, PASSWORD);
+    }
+
+    /**
+     * Drops cached product entries so the first run starts cold against the new catalog.
+     */
+    private void clearRedisCaches() {
+        if (options.redisUri() == null || options.redisUri().isBlank()) {
+            return;
+        }
+        RedisClient client = RedisClient.create(options.redisUri());
+        try (StatefulRedisConnection<String, String> connection = client.connect()) {
+            RedisCommands<String, String> redis = connection.sync();
+            long removed = 0;
+            for (String pattern : CACHED_PRODUCT_PATTERNS) {
+                ScanCursor cursor = ScanCursor.INITIAL;
+                do {
+                    KeyScanCursor<String> page = redis.scan(cursor, ScanArgs.Builder.matches(pattern).limit(1_000));
+                    if (!page.getKeys().isEmpty()) {
+                        removed += redis.del(page.getKeys().toArray(String[]::new));
+                    }
+                    cursor = page;
+                } while (!cursor.isFinished());
+            }
+            System.out.printf("Redis: cleared %,d cached product entries%n", removed);
+        } catch (RuntimeException e) {
+            System.out.println("Redis: skipped cache clear (" + e.getMessage() + ")");
+        } finally {
+            client.shutdown();
+        }
+    }
+}
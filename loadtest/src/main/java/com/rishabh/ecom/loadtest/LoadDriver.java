@@ -0,0 +1,285 @@
+package com.rishabh.ecom.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load driver: requests are issued on a fixed schedule (constant arrival rate)
+ * regardless of how fast the server answers, and each latency is measured from the request's
+ * intended start time. A slow server therefore shows up as queueing delay in the percentiles
+ * instead of silently lowering the offered load (no coordinated omission).
+ *
+ * Start the app with --app.rate-limit.enabled=false, otherwise the per-user and per-IP
+ * limits dominate the results.
+ */
+public class LoadDriver {
+
+    private static final String[] SEARCH_TERMS = {
+        "wireless", "steel", "kettle", "bamboo", "chair", "lamp", "premium", "sku-key", "jacket", "mat"
+    };
+
+    record Options(String baseUrl, int rate, Duration duration, Duration warmup, Map<Scenario, Integer> mix,
+                   long products, int users, int loginPool, int maxOutstanding, Path reportDir) {
+
+        static Options from(Args args) {
+            return new Options(
+                args.get("base-url", "http://localhost:8080"),
+                args.getInt("rate", 500),
+                args.getDuration("duration", Duration.ofMinutes(5)),
+                args.getDuration("warmup", Duration.ofSeconds(30)),
+                Scenario.parseMix(args.get("mix", "browse=35,search=20,getById=35,login=5,adminWrite=5")),
+                args.getLong("products", 1_000_000),
+                args.getInt("users", 100_000),
+                args.getInt("token-pool", 200),
+                args.getInt("max-outstanding", 10_000),
+                Path.of(args.get("report-dir", "loadtest-report")));
+        }
+    }
+
+    /**
+     * Latency histogram and outcome counters for one scenario.
+     */
+    static final class Stats {
+        // 1us .. 60s at 3 significant digits
+        final Recorder recorder = new Recorder(TimeUnit.SECONDS.toNanos(60), 3);
+        final LongAdder ok = new LongAdder();
+        final LongAdder non2xx = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+    }
+
+    private final Options options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    private final Map<Scenario, Stats> stats = new EnumMap<>(Scenario.class);
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private volatile boolean measuring;
+    private List<String> userTokens;
+    private String adminToken;
+
+    public LoadDriver(Options options) {
+        this.options = options;
+        for (Scenario scenario : Scenario.values()) {
+            stats.put(scenario, new Stats());
+        }
+    }
+
+    /**
+     * @return false if any request failed outright (connection errors, timeouts, drops)
+     */
+    public boolean run() throws Exception {
+        adminToken = login(CatalogGenerator.ADMIN_EMAIL);
+        userTokens = new ArrayList<>();
+        for (int i = 0; i < options.loginPool(); i++) {
+            userTokens.add(login(randomUserEmail()));
+        }
+        System.out.printf("Authenticated %d users + admin; offering %d req/s for %s after %s warmup%n",
+            userTokens.size(), options.rate(), options.duration(), options.warmup());
+
+        Scenario[] wheel = weightedWheel(options.mix());
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long warmupNanos = options.warmup().toNanos();
+        long totalNanos = warmupNanos + options.duration().toNanos();
+        long start = System.nanoTime();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            long elapsed = intended - start;
+            if (elapsed >= totalNanos) {
+                break;
+            }
+            if (!measuring && elapsed >= warmupNanos) {
+                stats.values().forEach(s -> s.recorder.reset());
+                measuring = true;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Scenario scenario = wheel[ThreadLocalRandom.current().nextInt(wheel.length)];
+            fire(scenario, intended);
+        }
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        return report();
+    }
+
+    private void fire(Scenario scenario, long intendedStartNanos) {
+        Stats s = stats.get(scenario);
+        if (outstanding.incrementAndGet() > options.maxOutstanding()) {
+            outstanding.decrementAndGet();
+            if (measuring) {
+                s.dropped.increment();
+            }
+            return;
+        }
+        CompletableFuture<HttpResponse<Void>> call;
+        try {
+            call = client.sendAsync(request(scenario), HttpResponse.BodyHandlers.discarding());
+        } catch (RuntimeException e) {
+            outstanding.decrementAndGet();
+            s.failed.increment();
+            return;
+        }
+        call.whenComplete((response, error) -> {
+            outstanding.decrementAndGet();
+            if (!measuring) {
+                return;
+            }
+            s.recorder.recordValue(Math.min(System.nanoTime() - intendedStartNanos, TimeUnit.SECONDS.toNanos(60)));
+            if (error != null) {
+                s.failed.increment();
+            } else if (response.statusCode() / 100 == 2 || response.statusCode() == 304) {
+                s.ok.increment();
+            } else {
+                s.non2xx.increment();
+            }
+        });
+    }
+
+    private HttpRequest request(Scenario scenario) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String token = userTokens.get(random.nextInt(userTokens.size()));
+        return switch (scenario) {
+            case BROWSE -> get("/api/v1/products?page=" + random.nextInt(50) + "&size=20&sortBy="
+                + (random.nextBoolean() ? "createdAt" : "price"), token);
+            case SEARCH -> get("/api/v1/products?q=" + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)]
+                + "&page=" + random.nextInt(5) + "&size=20", token);
+            case GET_BY_ID -> get("/api/v1/products/" + (1 + random.nextLong(options.products())), token);
+            case LOGIN -> HttpRequest.newBuilder(URI.create(options.baseUrl() + "/api/v1/auth/login"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(loginBody(randomUserEmail())))
+                .build();
+            case ADMIN_WRITE -> HttpRequest.newBuilder(
+                    URI.create(options.baseUrl() + "/api/v1/products/" + (1 + random.nextLong(options.products()))))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + adminToken)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"stockQty\":" + random.nextInt(1_000) + "}"))
+                .build();
+        };
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(options.baseUrl() + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Authorization", "Bearer " + token)
+            .GET()
+            .build();
+    }
+
+    private String randomUserEmail() {
+        return String.format(CatalogGenerator.USER_EMAIL_FORMAT, 1 + ThreadLocalRandom.current().nextInt(options.users()));
+    }
+
+    private static String loginBody(String email) {
+        return "{\"email\":\"" + email + "\",\"password\":\"" + CatalogGenerator.PASSWORD + "\"}";
+    }
+
+    private String login(String email) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(options.baseUrl() + "/api/v1/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(loginBody(email)))
+            .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + email + ": " + response.statusCode()
+                + " " + response.body() + " (did you run 'generate' first?)");
+        }
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private static Scenario[] weightedWheel(Map<Scenario, Integer> mix) {
+        List<Scenario> wheel = new ArrayList<>();
+        mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(scenario);
+            }
+        });
+        if (wheel.isEmpty()) {
+            throw new IllegalArgumentException("Scenario mix has no weight");
+        }
+        return wheel.toArray(Scenario[]::new);
+    }
+
+    private boolean report() throws IOException {
+        Files.createDirectories(options.reportDir());
+        double seconds = options.duration().toMillis() / 1000.0;
+        Map<String, Object> summary = new LinkedHashMap<>();
+        boolean clean = true;
+
+        System.out.printf("%n%-11s %9s %8s %7s %7s %7s %9s %9s %9s %9s %9s%n",
+            "scenario", "count", "req/s", "non2xx", "failed", "dropped", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Scenario, Stats> entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            Histogram histogram = s.recorder.getIntervalHistogram();
+            long count = histogram.getTotalCount();
+            if (count == 0 && s.dropped.sum() == 0) {
+                continue;
+            }
+            String name = entry.getKey().key;
+            System.out.printf("%-11s %9d %8.1f %7d %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, count, count / seconds, s.non2xx.sum(), s.failed.sum(), s.dropped.sum(),
+                ms(histogram.getValueAtPercentile(50)), ms(histogram.getValueAtPercentile(90)),
+                ms(histogram.getValueAtPercentile(99)), ms(histogram.getValueAtPercentile(99.9)),
+                ms(histogram.getMaxValue()));
+
+            try (PrintStream out = new PrintStream(Files.newOutputStream(options.reportDir().resolve(name + ".hgrm")))) {
+                // Values are recorded in ns; scale the percentile distribution to ms
+                histogram.outputPercentileDistribution(out, 1_000_000.0);
+            }
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("count", count);
+            row.put("throughput", count / seconds);
+            row.put("non2xx", s.non2xx.sum());
+            row.put("failed", s.failed.sum());
+            row.put("dropped", s.dropped.sum());
+            row.put("p50Ms", ms(histogram.getValueAtPercentile(50)));
+            row.put("p90Ms", ms(histogram.getValueAtPercentile(90)));
+            row.put("p99Ms", ms(histogram.getValueAtPercentile(99)));
+            row.put("p999Ms", ms(histogram.getValueAtPercentile(99.9)));
+            row.put("maxMs", ms(histogram.getMaxValue()));
+            summary.put(name, row);
+            clean &= s.failed.sum() == 0 && s.dropped.sum() == 0;
+        }
+        objectMapper.writerWithDefaultPrettyPrinter()
+            .writeValue(options.reportDir().resolve("summary.json").toFile(), summary);
+        System.out.printf("%nHistograms and summary.json written to %s%n", options.reportDir().toAbsolutePath());
+        return clean;
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,46 @@
+package com.rishabh.ecom.loadtest;
+
+/**
+ * Entry point of loadtest.jar.
+ *
+ *   generate  Bulk-load a synthetic catalog and users into MySQL and clear the Redis caches
+ *   run       Drive the API at a constant arrival rate and report latency per scenario
+ *
+ * See README "Load testing" for the options of each command.
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            usage();
+            System.exit(2);
+        }
+        Args options = new Args(args, 1);
+        switch (args[0]) {
+            case "generate" -> new CatalogGenerator(CatalogGenerator.Options.from(options)).run();
+            case "run" -> {
+                boolean ok = new LoadDriver(LoadDriver.Options.from(options)).run();
+                System.exit(ok ? 0 : 1);
+            }
+            default -> {
+                usage();
+                System.exit(2);
+            }
+        }
+    }
+
+    private static void usage() {
+        System.err.println("""
+            Usage:
+              java -jar loadtest.jar generate [--jdbc-url URL] [--db-user U] [--db-password P]
+                  [--products 1000000] [--users 100000] [--threads 4] [--batch-size 2000]
+                  [--truncate] [--redis-uri redis://localhost:6379] [--seed 42]
+              java -jar loadtest.jar run [--base-url http://localhost:8080] [--rate 500] [--duration 5m]
+                  [--warmup 30s] [--mix browse=35,search=20,getById=35,login=5,adminWrite=5]
+                  [--products 1000000] [--users 100000] [--token-pool 200] [--max-outstanding 10000]
+                  [--report-dir loadtest-report]
+            """);
+    }
+}
@@ -0,0 +1,45 @@
+package com.rishabh.ecom.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Request types in the traffic mix, with the key used in --mix.
+ */
+enum Scenario {
+    BROWSE("browse"),
+    SEARCH("search"),
+    GET_BY_ID("getById"),
+    LOGIN("login"),
+    ADMIN_WRITE("adminWrite");
+
+    final String key;
+
+    Scenario(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Parses "browse=35,search=20,..." into weights; omitted scenarios get weight 0.
+     */
+    static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Bad mix entry: " + part);
+            }
+            weights.put(byKey(kv[0].trim()), Integer.parseInt(kv[1].trim()));
+        }
+        return weights;
+    }
+
+    private static Scenario byKey(String key) {
+        for (Scenario scenario : values()) {
+            if (scenario.key.equals(key)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + key);
+    }
+}
@@ -0,0 +1,64 @@
+package com.rishabh.ecom.catalog;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Verifies the bearer token issued by the main app (same secret and issuer).
+ * Product reads only require an authenticated caller, matching SecurityConfig.
+ */
+@Component
+public class JwtAuthWebFilter implements WebFilter {
+
+    private final JwtParser parser;
+
+    public JwtAuthWebFilter(
+        @Value("${app.jwt.secret}") String secret,
+        @Value("${app.jwt.issuer}") String issuer
+    ) {
+        this.parser = Jwts.parserBuilder()
+            .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+            .requireIssuer(issuer)
+            .build();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().value();
+        if (!path.startsWith("/api/")) {
+            return chain.filter(exchange);
+        }
+
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return unauthorized(exchange.getResponse(), "{\"error\":\"Unauthorized\"}");
+        }
+        try {
+            parser.parseClaimsJws(authHeader.substring(7));
+        } catch (Exception e) {
+            return unauthorized(exchange.getResponse(), "{\"error\":\"Invalid or expired token\"}");
+        }
+        return chain.filter(exchange);
+    }
+
+    private static Mono<Void> unauthorized(ServerHttpResponse response, String body) {
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(buffer));
+    }
+}
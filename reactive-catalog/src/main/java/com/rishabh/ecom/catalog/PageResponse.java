@@ -0,0 +1,20 @@
+package com.rishabh.ecom.catalog;
+
+import java.util.List;
+
+/**
+ * Compact page envelope, same shape as the main API's ProductDtos.PageResponse.
+ */
+public record PageResponse<T>(
+    List<T> content,
+    int page,
+    int size,
+    long totalElements,
+    int totalPages
+) {
+
+    public static <T> PageResponse<T> of(List<T> content, int page, int size, long totalElements) {
+        int totalPages = size == 0 ? 1 : (int) Math.ceil((double) totalElements / size);
+        return new PageResponse<>(content, page, size, totalElements, totalPages);
+    }
+}
@@ -0,0 +1,122 @@
+package com.rishabh.ecom.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Reactive counterparts of ProductController.search and ProductController.getProduct.
+ * Paging/sort sanitizing and the ETag format mirror the main app exactly.
+ */
+@Component
+public class ProductHandler {
+
+    private static final Set<String> ALLOWED_SORT_FIELDS = Set.of(
+            "createdAt", "name", "price", "stockQty", "sku", "id"
+    );
+
+    private final ProductReadRepository repo;
+    private final ReactiveProductCache cache;
+    private final ObjectMapper objectMapper;
+
+    public ProductHandler(ProductReadRepository repo, ReactiveProductCache cache, ObjectMapper objectMapper) {
+        this.repo = repo;
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+    }
+
+    public Mono<ServerResponse> search(ServerRequest request) {
+        String q = request.queryParam("q").orElse(null);
+        int page = intParam(request, "page", 0);
+        int size = intParam(request, "size", 20);
+        String sortBy = request.queryParam("sortBy").orElse("createdAt");
+        String order = request.queryParam("order").orElse("desc");
+
+        // Same cache key as ProductService.search, built from the raw request values
+        String key = ReactiveProductCache.searchKey(
+            (q != null ? q : "null") + "-" + page + "-" + size + "-" + sortBy + "-" + order);
+
+        int safePage = Math.max(page, 0);
+        int safeSize = (size <= 0 || size > 200) ? 20 : size;
+        String safeSort = ALLOWED_SORT_FIELDS.contains(sortBy) ? sortBy : "createdAt";
+        Sort.Direction dir = Sort.Direction.fromOptionalString(order).orElse(Sort.Direction.DESC);
+
+        // The cache write is fire-and-forget: the response doesn't wait on Redis
+        Mono<String> load = repo.search(q, safePage, safeSize, safeSort, dir)
+            .map(this::toJson)
+            .doOnNext(json -> cache.put(key, json).subscribe());
+
+        return cache.get(key)
+            .switchIfEmpty(Mono.defer(() -> load))
+            .flatMap(json -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(json));
+    }
+
+    public Mono<ServerResponse> getProduct(ServerRequest request) {
+        long id = parseId(request.pathVariable("id"));
+        String key = ReactiveProductCache.byIdKey(id);
+        String ifNoneMatch = request.headers().firstHeader("If-None-Match");
+
+        Mono<ProductRow> load = repo.findById(id)
+            .doOnNext(row -> cache.put(key, toJson(row)).subscribe());
+
+        return cache.get(key)
+            .map(json -> fromJson(json, ProductRow.class))
+            .switchIfEmpty(Mono.defer(() -> load))
+            .flatMap(product -> {
+                String currentETag = "\"" + product.updatedAt().toEpochMilli() + "\"";
+                if (currentETag.equals(ifNoneMatch)) {
+                    return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(currentETag).build();
+                }
+                return ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(currentETag)
+                    .bodyValue(product);
+            })
+            .switchIfEmpty(Mono.defer(() -> ServerResponse.notFound().build()));
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        String value = request.queryParam(name).orElse(null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Invalid value for '" + name + "': " + value);
+        }
+    }
+
+    private static long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Invalid product id: " + value);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render product JSON", e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read cached product JSON", e);
+        }
+    }
+}
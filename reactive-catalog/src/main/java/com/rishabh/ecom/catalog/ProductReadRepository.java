@@ -0,0 +1,98 @@
+package com.rishabh.ecom.catalog;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+/**
+ * R2DBC queries equivalent to ProductService.search / getProductById in the main app.
+ */
+@Repository
+public class ProductReadRepository {
+
+    private static final String COLUMNS =
+        "id, name, description, price, sku, stock_qty, created_at, updated_at";
+    private static final String SUMMARY_COLUMNS = "id, sku, name, price, stock_qty";
+    private static final String MATCHING =
+        " WHERE LOWER(name) LIKE :q OR LOWER(sku) LIKE :q OR LOWER(description) LIKE :q";
+
+    // API sort field -> column; anything else falls back to created_at like the main app
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+        "createdAt", "created_at",
+        "name", "name",
+        "price", "price",
+        "stockQty", "stock_qty",
+        "sku", "sku",
+        "id", "id"
+    );
+
+    private final DatabaseClient db;
+
+    public ProductReadRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    public Mono<ProductRow> findById(long id) {
+        return db.sql("SELECT " + COLUMNS + " FROM products WHERE id = :id")
+            .bind("id", id)
+            .map(ProductReadRepository::toRow)
+            .one();
+    }
+
+    public Mono<PageResponse<ProductSummaryRow>> search(String q, int page, int size, String sortBy, Sort.Direction dir) {
+        boolean filtered = q != null && !q.isBlank();
+        String where = filtered ? MATCHING : "";
+        String column = SORT_COLUMNS.getOrDefault(sortBy, "created_at");
+
+        var select = db.sql("SELECT " + SUMMARY_COLUMNS + " FROM products" + where
+                + " ORDER BY " + column + " " + dir.name() + " LIMIT :limit OFFSET :offset")
+            .bind("limit", size)
+            .bind("offset", (long) page * size);
+        var count = db.sql("SELECT COUNT(*) FROM products" + where);
+        if (filtered) {
+            String like = "%" + q.trim().toLowerCase() + "%";
+            select = select.bind("q", like);
+            count = count.bind("q", like);
+        }
+
+        return Mono.zip(
+                select.map(ProductReadRepository::toSummary).all().collectList(),
+                count.map(row -> row.get(0, Long.class)).one())
+            .map(t -> PageResponse.of(t.getT1(), page, size, t.getT2()));
+    }
+
+    private static ProductRow toRow(Readable row) {
+        return new ProductRow(
+            row.get("id", Long.class),
+            row.get("name", String.class),
+            row.get("description", String.class),
+            row.get("price", BigDecimal.class),
+            row.get("sku", String.class),
+            row.get("stock_qty", Integer.class),
+            toInstant(row.get("created_at", LocalDateTime.class)),
+            toInstant(row.get("updated_at", LocalDateTime.class))
+        );
+    }
+
+    private static ProductSummaryRow toSummary(Readable row) {
+        return new ProductSummaryRow(
+            row.get("id", Long.class),
+            row.get("sku", String.class),
+            row.get("name", String.class),
+            row.get("price", BigDecimal.class),
+            row.get("stock_qty", Integer.class)
+        );
+    }
+
+    private static Instant toInstant(LocalDateTime value) {
+        return value == null ? null : value.toInstant(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,24 @@
+package com.rishabh.ecom.catalog;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Configuration
+public class ProductRoutes {
+
+    @Bean
+    public RouterFunction<ServerResponse> productRoutes(ProductHandler handler) {
+        return route()
+            .nest(accept(MediaType.APPLICATION_JSON, MediaType.ALL), builder -> builder
+                .GET("/api/v1/products", handler::search)
+                .GET("/api/v1/products/{id}", handler::getProduct))
+            .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.rishabh.ecom.catalog;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Product as rendered by the main API; field order matches the Product entity's JSON.
+ */
+public record ProductRow(
+    Long id,
+    String name,
+    String description,
+    BigDecimal price,
+    String sku,
+    Integer stockQty,
+    Instant createdAt,
+    Instant updatedAt
+) {}
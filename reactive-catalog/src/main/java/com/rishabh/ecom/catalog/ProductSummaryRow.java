@@ -0,0 +1,14 @@
+package com.rishabh.ecom.catalog;
+
+import java.math.BigDecimal;
+
+/**
+ * Listing row as rendered by the main API's search endpoint (ProductDtos.Summary).
+ */
+public record ProductSummaryRow(
+    Long id,
+    String sku,
+    String name,
+    BigDecimal price,
+    Integer stockQty
+) {}
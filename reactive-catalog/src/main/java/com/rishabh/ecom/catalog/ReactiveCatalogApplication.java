@@ -0,0 +1,16 @@
+package com.rishabh.ecom.catalog;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Non-blocking read replica of the product API.
+ * Serves GET /api/v1/products and GET /api/v1/products/{id} with the same contract
+ * as the main (Spring MVC + JPA) app; writes stay on the main app.
+ */
+@SpringBootApplication
+public class ReactiveCatalogApplication {
+  public static void main(String[] args) {
+    SpringApplication.run(ReactiveCatalogApplication.class, args);
+  }
+}
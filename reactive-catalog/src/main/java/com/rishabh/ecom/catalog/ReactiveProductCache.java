@@ -0,0 +1,56 @@
+package com.rishabh.ecom.catalog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Caches rendered JSON in Redis through the reactive Lettuce client.
+ *
+ * Keys live under the main app's cache prefixes ("products::", "productById::") with an
+ * "rx:" marker, so the main app's allEntries evictions on create/update/delete clear
+ * these entries too. Redis errors are treated as a miss so a slow cache never fails a read.
+ */
+@Component
+public class ReactiveProductCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveProductCache.class);
+
+    private final ReactiveStringRedisTemplate redis;
+    private final Duration ttl;
+
+    public ReactiveProductCache(ReactiveStringRedisTemplate redis, @Value("${app.cache.ttl:10m}") Duration ttl) {
+        this.redis = redis;
+        this.ttl = ttl;
+    }
+
+    public static String searchKey(String canonicalKey) {
+        return "products::rx:" + canonicalKey;
+    }
+
+    public static String byIdKey(long id) {
+        return "productById::rx:" + id;
+    }
+
+    public Mono<String> get(String key) {
+        return redis.opsForValue().get(key)
+            .onErrorResume(e -> {
+                log.warn("Reactive cache read failed for {}: {}", key, e.getMessage());
+                return Mono.empty();
+            });
+    }
+
+    public Mono<Void> put(String key, String json) {
+        return redis.opsForValue().set(key, json, ttl)
+            .onErrorResume(e -> {
+                log.warn("Reactive cache write failed for {}: {}", key, e.getMessage());
+                return Mono.just(false);
+            })
+            .then();
+    }
+}
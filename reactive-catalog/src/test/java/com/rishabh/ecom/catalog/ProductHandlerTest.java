@@ -0,0 +1,181 @@
+package com.rishabh.ecom.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import reactor.test.publisher.PublisherProbe;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest
+@Import({ProductRoutes.class, ProductHandler.class, ReactiveProductCache.class})
+@DisplayName("Reactive product reads")
+class ProductHandlerTest {
+
+    private static final ProductRow PRODUCT = new ProductRow(7L, "Kettle", "Boils water", new BigDecimal("29.99"),
+        "SKU-KET-7", 12, Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-02-01T00:00:00Z"));
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ProductReadRepository repo;
+
+    @MockBean
+    private ReactiveStringRedisTemplate redis;
+
+    @Value("${app.jwt.secret}")
+    private String secret;
+
+    @Value("${app.jwt.issuer}")
+    private String issuer;
+
+    @SuppressWarnings("unchecked")
+    private final ReactiveValueOperations<String, String> values = mock(ReactiveValueOperations.class);
+
+    @BeforeEach
+    void setUp() {
+        when(redis.opsForValue()).thenReturn(values);
+    }
+
+    @Test
+    @DisplayName("Should serve a cached product without touching the database")
+    void shouldServeCacheHit() throws Exception {
+        // Given
+        when(values.get("productById::rx:7")).thenReturn(Mono.just(objectMapper.writeValueAsString(PRODUCT)));
+        PublisherProbe<ProductRow> query = PublisherProbe.of(Mono.just(PRODUCT));
+        when(repo.findById(7L)).thenReturn(query.mono());
+
+        // When / Then
+        get(7).expectStatus().isOk()
+            .expectHeader().valueEquals("ETag", "\"" + PRODUCT.updatedAt().toEpochMilli() + "\"")
+            .expectBody().jsonPath("$.sku").isEqualTo("SKU-KET-7");
+        query.assertWasNotSubscribed();
+    }
+
+    @Test
+    @DisplayName("Should load a miss from the database and write it through to the cache")
+    void shouldReadThroughOnMiss() {
+        // Given
+        when(values.get("productById::rx:7")).thenReturn(Mono.empty());
+        when(values.set(eq("productById::rx:7"), anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+        when(repo.findById(7L)).thenReturn(Mono.just(PRODUCT));
+
+        // When / Then
+        get(7).expectStatus().isOk()
+            .expectBody().jsonPath("$.name").isEqualTo("Kettle");
+        verify(values).set(eq("productById::rx:7"), anyString(), eq(Duration.ofMinutes(10)));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database when Redis fails")
+    void shouldFallBackOnRedisError() {
+        // Given
+        when(values.get(anyString())).thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+        when(values.set(anyString(), anyString(), any(Duration.class)))
+            .thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+        when(repo.findById(7L)).thenReturn(Mono.just(PRODUCT));
+
+        // When / Then
+        get(7).expectStatus().isOk()
+            .expectBody().jsonPath("$.id").isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should search with sanitized paging and cache under the raw request key")
+    void shouldSearchAndWriteThrough() {
+        // Given: out-of-range paging and an unknown sort field
+        String key = "products::rx:kettle--1-500-bogus-asc";
+        PageResponse<ProductSummaryRow> page = PageResponse.of(
+            List.of(new ProductSummaryRow(7L, "SKU-KET-7", "Kettle", new BigDecimal("29.99"), 12)), 0, 20, 1);
+        when(values.get(key)).thenReturn(Mono.empty());
+        when(values.set(eq(key), anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+        when(repo.search("kettle", 0, 20, "createdAt", Sort.Direction.ASC)).thenReturn(Mono.just(page));
+
+        // When / Then
+        search("?q=kettle&page=-1&size=500&sortBy=bogus&order=asc").expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.content[0].sku").isEqualTo("SKU-KET-7")
+            .jsonPath("$.size").isEqualTo(20);
+        verify(values).set(eq(key), anyString(), eq(Duration.ofMinutes(10)));
+    }
+
+    @Test
+    @DisplayName("Should serve a cached search page without querying")
+    void shouldServeCachedSearch() {
+        // Given
+        when(values.get("products::rx:null-0-20-createdAt-desc"))
+            .thenReturn(Mono.just("{\"content\":[],\"page\":0,\"size\":20,\"totalElements\":0,\"totalPages\":0}"));
+        PublisherProbe<PageResponse<ProductSummaryRow>> query = PublisherProbe.empty();
+        when(repo.search(any(), anyInt(), anyInt(), anyString(), any())).thenReturn(query.mono());
+
+        // When / Then
+        search("").expectStatus().isOk()
+            .expectBody().jsonPath("$.totalElements").isEqualTo(0);
+        query.assertWasNotSubscribed();
+    }
+
+    @Test
+    @DisplayName("Should answer a search from the database when Redis fails")
+    void shouldSearchWhenRedisFails() {
+        // Given
+        when(values.get(anyString())).thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+        when(values.set(anyString(), anyString(), any(Duration.class)))
+            .thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+        when(repo.search(null, 1, 5, "price", Sort.Direction.DESC))
+            .thenReturn(Mono.just(PageResponse.of(List.of(), 1, 5, 3)));
+
+        // When / Then
+        search("?page=1&size=5&sortBy=price").expectStatus().isOk()
+            .expectBody().jsonPath("$.totalPages").isEqualTo(1);
+    }
+
+    private WebTestClient.ResponseSpec get(long id) {
+        return client.get().uri("/api/v1/products/{id}", id)
+            .headers(headers -> headers.setBearerAuth(token()))
+            .exchange();
+    }
+
+    private String token() {
+        return Jwts.builder()
+            .setSubject("reader@example.com")
+            .setIssuer(issuer)
+            .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+            .compact();
+    }
+
+    private WebTestClient.ResponseSpec search(String query) {
+        return client.get().uri("/api/v1/products" + query)
+            .headers(headers -> headers.setBearerAuth(token()))
+            .exchange();
+    }
+}
@@ -0,0 +1,75 @@
+#!/usr/bin/env bash
+# Measures cold start of the app: time until /api/v1/healthz answers and time until the first
+# authenticated product search returns, from process launch. Compares
+#   jar      java -jar on the fat jar (the old Docker image)
+#   cds      extracted layers + the CDS archive from a training run
+#   aot-cds  as cds, plus -Dspring.aot.enabled=true
+#   native   the GraalVM binary, if target/ecommerce-springboot exists (mvn -Pnative native:compile)
+#
+# Prerequisites: MySQL + Redis running (docker compose up -d mysql redis) and curl on the PATH.
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=8080
+JAR=target/ecommerce-springboot-0.1.0-SNAPSHOT-exec.jar
+WORK=target/startup
+NATIVE=target/ecommerce-springboot
+
+# clean: stale AOT output (generated proxies, bean definitions) would shadow changed classes
+mvn -q -Pfast-startup -DskipTests clean package
+
+rm -rf "$WORK"
+java -Djarmode=tools -jar "$JAR" extract --application-filename app.jar --destination "$WORK"
+# Train with the same -jar path as the measured runs, or the JVM refuses the archive
+java -XX:ArchiveClassesAtExit="$WORK/app.jsa" -Dspring.aot.enabled=true \
+  -Dspring.context.exit=onRefresh -Dspring.profiles.active=training -jar "$WORK/app.jar" >/dev/null 2>&1
+
+now_ms() { date +%s%3N; }
+
+median() { sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'; }
+
+wait_ready() {
+  until curl -sf "http://localhost:$PORT/api/v1/healthz" >/dev/null; do sleep 0.05; done
+}
+
+# One user for all runs, created up front so no run is warmed up by the signup
+java -jar "$JAR" --spring.profiles.active=local >/tmp/startup-setup.log 2>&1 &
+SETUP_PID=$!
+wait_ready
+TOKEN=$(curl -s -X POST "http://localhost:$PORT/api/v1/auth/signup" \
+  -H "Content-Type: application/json" \
+  -d "{\"email\":\"startup-$RANDOM$RANDOM@example.com\",\"password\":\"BenchPass123!\"}" \
+  | sed -E 's/.*"token":"([^"]+)".*/\1/')
+kill "$SETUP_PID"; wait "$SETUP_PID" 2>/dev/null || true
+
+run_once() {
+  local label=$1; shift
+  local start pid ready first
+  start=$(now_ms)
+  "$@" --spring.profiles.active=local --app.rate-limit.enabled=false >"/tmp/startup-$label.log" 2>&1 &
+  pid=$!
+  wait_ready
+  ready=$(now_ms)
+  curl -sf -o /dev/null -H "Authorization: Bearer $TOKEN" "http://localhost:$PORT/api/v1/products?size=20"
+  first=$(now_ms)
+
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+  echo "$((ready - start)) $((first - start))"
+}
+
+bench() {
+  local label=$1; shift
+  local results
+  results=$(for _ in $(seq "$RUNS"); do run_once "$label" "$@"; done)
+  printf '%-8s healthz %6s ms   first request %6s ms   (median of %s)\n' "$label" \
+    "$(cut -d' ' -f1 <<<"$results" | median)" "$(cut -d' ' -f2 <<<"$results" | median)" "$RUNS"
+}
+
+bench jar java -jar "$JAR"
+bench cds java -XX:SharedArchiveFile="$WORK/app.jsa" -jar "$WORK/app.jar"
+bench aot-cds java -XX:SharedArchiveFile="$WORK/app.jsa" -Dspring.aot.enabled=true -jar "$WORK/app.jar"
+if [ -x "$NATIVE" ]; then
+  bench native "$NATIVE"
+fi
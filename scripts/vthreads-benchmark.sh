@@ -0,0 +1,42 @@
+#!/usr/bin/env bash
+# Compares request throughput on platform threads vs virtual threads.
+#
+# Prerequisites: MySQL + Redis running (docker compose up -d mysql redis),
+# a Java 21 JDK, and `hey` (https://github.com/rakyll/hey) on the PATH.
+#
+# Usage: scripts/vthreads-benchmark.sh [concurrency] [requests]
+set -euo pipefail
+
+CONCURRENCY=${1:-500}
+REQUESTS=${2:-50000}
+PORT=8080
+JAR=target/ecommerce-springboot-0.1.0-SNAPSHOT-exec.jar
+
+mvn -q -Pjava21 -DskipTests package
+
+token() {
+  curl -s -X POST "http://localhost:$PORT/api/v1/auth/signup" \
+    -H "Content-Type: application/json" \
+    -d "{\"email\":\"bench-$RANDOM$RANDOM@example.com\",\"password\":\"BenchPass123!\"}" \
+    | sed -E 's/.*"token":"([^"]+)".*/\1/'
+}
+
+run() {
+  local label=$1 profiles=$2
+  java -jar "$JAR" --spring.profiles.active="$profiles" --app.rate-limit.enabled=false >/tmp/bench-app.log 2>&1 &
+  local pid=$!
+  until curl -sf "http://localhost:$PORT/api/v1/healthz" >/dev/null; do sleep 1; done
+
+  local auth="Authorization: Bearer $(token)"
+  # Warm up JIT and caches, then measure a mixed cached / uncached read load
+  hey -n 5000 -c 50 -H "$auth" "http://localhost:$PORT/api/v1/products?size=20" >/dev/null
+  echo "== $label: cached search"
+  hey -n "$REQUESTS" -c "$CONCURRENCY" -H "$auth" "http://localhost:$PORT/api/v1/products?size=20" | grep -E "Requests/sec|99%|Status code" -A0
+  echo "== $label: get by id"
+  hey -n "$REQUESTS" -c "$CONCURRENCY" -H "$auth" "http://localhost:$PORT/api/v1/products/1" | grep -E "Requests/sec|99%" -A0
+
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+}
+
+run "platform threads" local
+run "virtual threads" local,vthreads
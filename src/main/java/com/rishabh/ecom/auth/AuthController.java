@@ -6,8 +6,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @RestController
 @RequestMapping(path = "/api/v1/auth", produces = MediaType.APPLICATION_JSON_VALUE)
 public class AuthController {
@@ -33,7 +37,10 @@ public class AuthController {
     @GetMapping("/me")
     public ResponseEntity<AuthDtos.Me> me(Authentication authentication) {
         String email = authentication.getName();
-        AuthDtos.Me response = authService.me(email);
+        Set<String> roles = authentication.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .collect(Collectors.toSet());
+        AuthDtos.Me response = authService.me(email, roles);
         return ResponseEntity.ok(response);
     }
 }
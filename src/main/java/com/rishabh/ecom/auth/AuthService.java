@@ -3,31 +3,35 @@ package com.rishabh.ecom.auth;
 import com.rishabh.ecom.auth.AuthDtos.JwtResponse;
 import com.rishabh.ecom.auth.AuthDtos.Me;
 import com.rishabh.ecom.user.Role;
-import com.rishabh.ecom.user.RoleRepository;
+import com.rishabh.ecom.user.RoleRegistry;
 import com.rishabh.ecom.user.User;
+import com.rishabh.ecom.user.UserProfileCache;
+import com.rishabh.ecom.user.UserProfileCache.UserProfile;
 import com.rishabh.ecom.user.UserRepository;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 public class AuthService {
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
+    private final UserProfileCache profileCache;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
 
     public AuthService(
         UserRepository userRepository,
-        RoleRepository roleRepository,
+        RoleRegistry roleRegistry,
+        UserProfileCache profileCache,
         PasswordEncoder passwordEncoder,
         JwtService jwtService
     ) {
         this.userRepository = userRepository;
-        this.roleRepository = roleRepository;
+        this.roleRegistry = roleRegistry;
+        this.profileCache = profileCache;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
     }
@@ -38,18 +42,16 @@ public class AuthService {
             throw new IllegalStateException("Email already exists");
         }
 
-        Role userRole = roleRepository.findByName("ROLE_USER")
-            .orElseThrow(() -> new IllegalStateException("ROLE_USER not found"));
+        Role userRole = roleRegistry.require("ROLE_USER");
 
         User user = new User(email, passwordEncoder.encode(rawPassword));
         user.getRoles().add(userRole);
         user = userRepository.save(user);
 
-        Set<String> roleNames = user.getRoles().stream()
-            .map(Role::getName)
-            .collect(Collectors.toSet());
+        UserProfile profile = UserProfile.of(user);
+        profileCache.put(profile);
 
-        String token = jwtService.generateToken(user.getEmail(), roleNames);
+        String token = jwtService.generateToken(user.getEmail(), profile.roles());
         return new JwtResponse(token, "Bearer", jwtService.getExpirationSeconds());
     }
 
@@ -65,23 +67,32 @@ public class AuthService {
             throw new IllegalArgumentException("Invalid email or password");
         }
 
-        Set<String> roleNames = user.getRoles().stream()
-            .map(Role::getName)
-            .collect(Collectors.toSet());
+        UserProfile profile = UserProfile.of(user);
+        profileCache.put(profile);
 
-        String token = jwtService.generateToken(user.getEmail(), roleNames);
+        String token = jwtService.generateToken(user.getEmail(), profile.roles());
         return new JwtResponse(token, "Bearer", jwtService.getExpirationSeconds());
     }
 
-    public Me me(String email) {
+    /**
+     * Answers from the roles in the already-verified token; the token is what authorized
+     * this request, so a cached profile never widens it. The cached profile, then MySQL,
+     * are only consulted for tokens that carry no roles.
+     */
+    public Me me(String email, Set<String> tokenRoles) {
+        if (tokenRoles != null && !tokenRoles.isEmpty()) {
+            return new Me(email, Set.copyOf(tokenRoles));
+        }
+        var cached = profileCache.get(email);
+        if (cached.isPresent()) {
+            return new Me(email, cached.get().roles());
+        }
+
         User user = userRepository.findByEmail(email)
             .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        Set<String> roleNames = user.getRoles().stream()
-            .map(Role::getName)
-            .collect(Collectors.toSet());
-
-        return new Me(user.getEmail(), roleNames);
+        UserProfile profile = UserProfile.of(user);
+        profileCache.put(profile);
+        return new Me(profile.email(), profile.roles());
     }
 }
-
@@ -1,5 +1,6 @@
 package com.rishabh.ecom.auth;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -60,8 +61,10 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String token = authHeader.substring(7);
 
         try {
-            String email = jwtService.getEmailFromToken(token);
-            Set<String> roles = jwtService.getRolesFromToken(token);
+            // Verify the signature once and read both claims from the same parse
+            Claims claims = jwtService.parseToken(token);
+            String email = claims.getSubject();
+            Set<String> roles = jwtService.getRoles(claims);
 
             logger.debug("Parsed JWT for user: {} with roles: {}", email, roles);
 
@@ -60,9 +60,12 @@ public class JwtService {
         return parseToken(token).getSubject();
     }
 
-    @SuppressWarnings("unchecked")
     public Set<String> getRolesFromToken(String token) {
-        Claims claims = parseToken(token);
+        return getRoles(parseToken(token));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Set<String> getRoles(Claims claims) {
         List<String> roles = claims.get("roles", List.class);
         if (roles == null) {
             return Set.of();
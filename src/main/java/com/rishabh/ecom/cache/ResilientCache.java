@@ -0,0 +1,263 @@
+package com.rishabh.ecom.cache;
+
+import com.rishabh.ecom.common.RequestDeadline;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cache decorator that treats Redis as optional.
+ * - Every call goes through a shared circuit breaker; while it is open, reads are misses
+ *   (the caller loads from the DB) and writes are skipped, without touching Redis
+ * - A failed read is reported to the breaker and also answered as a miss
+ * - put() is fire-and-forget on a bounded writer pool, so the response never waits on Redis
+ * - evict() and clear() bump an invalidation generation for the key's stripe; a queued put
+ *   taken before the bump is skipped, or undone if it raced the eviction, so an update's
+ *   evict can never be overtaken by an older value
+ * - An evict or clear that could not reach Redis marks the cache dirty; it is cleared before
+ *   the next read is served, so entries that outlived a missed invalidation are never returned
+ * - Reads stop at the request deadline; a timeout caused by the caller's shrinking budget
+ *   is not held against Redis by the breaker
+ * - cache.redis.operations counts every call by cache, op and outcome (ok, error, bypassed, dropped,
+ *   skipped)
+ */
+public class ResilientCache implements Cache {
+
+    private static final Logger log = LoggerFactory.getLogger(ResilientCache.class);
+
+    // Keys share a stripe by hash; a collision only costs a skipped put, never a stale one
+    private static final int GENERATION_STRIPES = 64;
+
+    private final Cache delegate;
+    private final CircuitBreaker breaker;
+    private final Executor writer;
+    private final AtomicBoolean missedInvalidation = new AtomicBoolean();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final Counters get;
+    private final Counters put;
+    private final Counters evict;
+
+    public ResilientCache(Cache delegate, CircuitBreaker breaker, Executor writer, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.breaker = breaker;
+        this.writer = writer;
+        this.get = new Counters(registry, delegate.getName(), "get");
+        this.put = new Counters(registry, delegate.getName(), "put");
+        this.evict = new Counters(registry, delegate.getName(), "evict");
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        RequestDeadline.check();
+        if (!breaker.tryAcquirePermission()) {
+            get.bypassed.increment();
+            return null;
+        }
+        long start = breaker.getCurrentTimestamp();
+        boolean clearing = missedInvalidation.getAndSet(false);
+        try {
+            if (clearing) {
+                delegate.clear();
+                breaker.onSuccess(breaker.getCurrentTimestamp() - start, breaker.getTimestampUnit());
+                get.ok.increment();
+                return null;
+            }
+            ValueWrapper value = delegate.get(key);
+            breaker.onSuccess(breaker.getCurrentTimestamp() - start, breaker.getTimestampUnit());
+            get.ok.increment();
+            return value;
+        } catch (RuntimeException e) {
+            if (clearing) {
+                missedInvalidation.set(true);
+            }
+            if (RequestDeadline.expired()) {
+                breaker.releasePermission();
+                RequestDeadline.check();
+            }
+            breaker.onError(breaker.getCurrentTimestamp() - start, breaker.getTimestampUnit(), e);
+            get.error.increment();
+            log.warn("Cache {} read failed, loading from source: {}", getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        Object stored = value == null ? null : value.get();
+        if (stored != null && type != null && !type.isInstance(stored)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + stored);
+        }
+        return (T) stored;
+    }
+
+    /**
+     * Loads on a miss without holding any Redis-side lock; the value is stored asynchronously.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (!breaker.tryAcquirePermission()) {
+            put.bypassed.increment();
+            return;
+        }
+        int stripe = stripe(key);
+        long generation = generations.get(stripe);
+        try {
+            writer.execute(() -> {
+                if (generations.get(stripe) != generation) {
+                    // Evicted while queued: the value may predate the update that evicted it
+                    breaker.releasePermission();
+                    put.skipped.increment();
+                    return;
+                }
+                long start = breaker.getCurrentTimestamp();
+                try {
+                    delegate.put(key, value);
+                    if (generations.get(stripe) != generation) {
+                        // The eviction ran between the check and the write; undo the write
+                        delegate.evict(key);
+                        put.skipped.increment();
+                    } else {
+                        put.ok.increment();
+                    }
+                    breaker.onSuccess(breaker.getCurrentTimestamp() - start, breaker.getTimestampUnit());
+                } catch (RuntimeException e) {
+                    if (generations.get(stripe) != generation) {
+                        missedInvalidation.set(true);
+                    }
+                    breaker.onError(breaker.getCurrentTimestamp() - start, breaker.getTimestampUnit(), e);
+                    put.error.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Writer queue is full: Redis is behind, dropping the write costs one future miss
+            breaker.releasePermission();
+            put.dropped.increment();
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = get(key);
+        if (existing == null) {
+            put(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        generations.incrementAndGet(stripe(key));
+        invalidateThrough(() -> delegate.evict(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        evict(key);
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        invalidateThrough(delegate::clear);
+    }
+
+    @Override
+    public boolean invalidate() {
+        clear();
+        return false;
+    }
+
+    private void invalidateThrough(Runnable invalidation) {
+        if (!breaker.tryAcquirePermission()) {
+            missedInvalidation.set(true);
+            evict.bypassed.increment();
+            return;
+        }
+        long start = breaker.getCurrentTimestamp();
+        try {
+            invalidation.run();
+            breaker.onSuccess(breaker.getCurrentTimestamp() - start, breaker.getTimestampUnit());
+            evict.ok.increment();
+        } catch (RuntimeException e) {
+            breaker.onError(breaker.getCurrentTimestamp() - start, breaker.getTimestampUnit(), e);
+            missedInvalidation.set(true);
+            evict.error.increment();
+            log.warn("Cache {} invalidation failed, clearing before next read: {}", getName(), e.getMessage());
+        }
+    }
+
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    boolean hasMissedInvalidation() {
+        return missedInvalidation.get();
+    }
+
+    private static final class Counters {
+        final Counter ok;
+        final Counter error;
+        final Counter bypassed;
+        final Counter dropped;
+        final Counter skipped;
+
+        Counters(MeterRegistry registry, String cache, String op) {
+            this.ok = counter(registry, cache, op, "ok");
+            this.error = counter(registry, cache, op, "error");
+            this.bypassed = counter(registry, cache, op, "bypassed");
+            this.dropped = counter(registry, cache, op, "dropped");
+            this.skipped = counter(registry, cache, op, "skipped");
+        }
+
+        private static Counter counter(MeterRegistry registry, String cache, String op, String outcome) {
+            return Counter.builder("cache.redis.operations")
+                .tags("cache", cache, "op", op, "outcome", outcome)
+                .register(registry);
+        }
+    }
+}
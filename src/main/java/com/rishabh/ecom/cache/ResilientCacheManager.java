@@ -0,0 +1,58 @@
+package com.rishabh.ecom.cache;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wraps every cache of a {@link CacheManager} in a {@link ResilientCache}, all sharing one
+ * circuit breaker and one bounded pool of daemon writer threads.
+ */
+public class ResilientCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final CircuitBreaker breaker;
+    private final MeterRegistry registry;
+    private final ThreadPoolExecutor writer;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public ResilientCacheManager(CacheManager delegate, CircuitBreaker breaker, MeterRegistry registry,
+                                 int writerThreads, int writerQueueSize) {
+        this.delegate = delegate;
+        this.breaker = breaker;
+        this.registry = registry;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.writer = new ThreadPoolExecutor(writerThreads, writerThreads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(writerQueueSize), task -> {
+                Thread thread = new Thread(task, "cache-writer-" + threadIds.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        ExecutorServiceMetrics.monitor(registry, writer, "cache.writer");
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        return target == null ? null : caches.computeIfAbsent(name, n -> new ResilientCache(target, breaker, writer, registry));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
@@ -0,0 +1,11 @@
+package com.rishabh.ecom.common;
+
+/**
+ * The request's deadline passed before its work finished; answered with 504.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException() {
+        super("deadline_exceeded");
+    }
+}
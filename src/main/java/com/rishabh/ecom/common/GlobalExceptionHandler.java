@@ -1,5 +1,6 @@
 package com.rishabh.ecom.common;
 
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.*;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
@@ -13,6 +14,11 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error","not_found"));
   }
 
+  @ExceptionHandler({DeadlineExceededException.class, QueryTimeoutException.class})
+  public ResponseEntity<Map<String,String>> deadlineExceeded() {
+    return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(Map.of("error","deadline_exceeded"));
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<Map<String,String>> badReq() {
     return ResponseEntity.badRequest().body(Map.of("error","validation_failed"));
@@ -0,0 +1,75 @@
+package com.rishabh.ecom.common;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request deadline, held like SecurityContextHolder.
+ *
+ * Stored as a System.nanoTime() instant. JDBC statement timeouts and Redis command timeouts
+ * are derived from what is left of it, so work for a client that has already given up is
+ * cut short instead of running to completion.
+ */
+public final class RequestDeadline {
+
+    /** Absolute deadline, epoch millis. */
+    public static final String DEADLINE_HEADER = "X-Request-Deadline";
+    /** Relative budget, millis from arrival. */
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {}
+
+    public static void set(Long deadlineNanos) {
+        if (deadlineNanos == null) {
+            DEADLINE.remove();
+        } else {
+            DEADLINE.set(deadlineNanos);
+        }
+    }
+
+    /**
+     * @return the deadline as a System.nanoTime() instant, or null if the thread has none
+     */
+    public static Long current() {
+        return DEADLINE.get();
+    }
+
+    /**
+     * @return nanos left before the deadline (negative once passed), or Long.MAX_VALUE if none is set
+     */
+    public static long remainingNanos() {
+        Long deadline = DEADLINE.get();
+        return deadline == null ? Long.MAX_VALUE : deadline - System.nanoTime();
+    }
+
+    public static boolean expired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * @throws DeadlineExceededException if the deadline has passed
+     */
+    public static void check() {
+        if (expired()) {
+            throw new DeadlineExceededException();
+        }
+    }
+
+    /**
+     * JDBC query timeout for the remaining budget: whole seconds, rounded up, at least 1.
+     * 0 (no timeout) when no deadline is set.
+     */
+    public static int queryTimeoutSeconds() {
+        long remaining = remainingNanos();
+        if (remaining == Long.MAX_VALUE) {
+            return 0;
+        }
+        long seconds = (Math.max(remaining, 1) + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+        return (int) Math.min(seconds, Integer.MAX_VALUE);
+    }
+
+    public static void clear() {
+        DEADLINE.remove();
+    }
+}
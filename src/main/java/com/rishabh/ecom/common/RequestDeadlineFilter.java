@@ -0,0 +1,100 @@
+package com.rishabh.ecom.common;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binds the request's deadline to the thread.
+ * The client may send X-Request-Deadline (epoch millis) or X-Request-Timeout (millis);
+ * otherwise the default budget applies, and no budget may exceed the configured maximum.
+ * A request that arrives already late, or whose work outlives its deadline outside
+ * the controllers, gets 504.
+ * Bulk product writes (PATCH/DELETE /api/v1/products) commit chunk by chunk, so a 504 would
+ * leave them partly applied with no per-item results; they get bulk-timeout as both their
+ * default and their maximum instead.
+ */
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestDeadlineFilter.class);
+
+    private static final String BULK_PATH = "/api/v1/products";
+
+    private final long defaultTimeoutMillis;
+    private final long maxTimeoutMillis;
+    private final long bulkTimeoutMillis;
+
+    public RequestDeadlineFilter(Duration defaultTimeout, Duration maxTimeout, Duration bulkTimeout) {
+        this.defaultTimeoutMillis = defaultTimeout.toMillis();
+        this.maxTimeoutMillis = maxTimeout.toMillis();
+        this.bulkTimeoutMillis = bulkTimeout.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        boolean bulk = isBulk(request);
+        long budgetMillis = Math.min(budgetMillis(request, bulk ? bulkTimeoutMillis : defaultTimeoutMillis),
+            bulk ? bulkTimeoutMillis : maxTimeoutMillis);
+        if (budgetMillis <= 0) {
+            logger.warn("Request {} {} arrived after its deadline", request.getMethod(), request.getRequestURI());
+            writeTimeout(response);
+            return;
+        }
+        RequestDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis));
+        try {
+            filterChain.doFilter(request, response);
+        } catch (DeadlineExceededException e) {
+            // Thrown by filters ahead of the DispatcherServlet, e.g. a cache lookup
+            if (!response.isCommitted()) {
+                response.reset();
+                writeTimeout(response);
+            }
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    private static boolean isBulk(HttpServletRequest request) {
+        String method = request.getMethod();
+        return ("PATCH".equals(method) || "DELETE".equals(method)) && BULK_PATH.equals(request.getRequestURI());
+    }
+
+    private static long budgetMillis(HttpServletRequest request, long defaultTimeoutMillis) {
+        Long deadline = parse(request.getHeader(RequestDeadline.DEADLINE_HEADER));
+        if (deadline != null) {
+            return deadline - System.currentTimeMillis();
+        }
+        Long timeout = parse(request.getHeader(RequestDeadline.TIMEOUT_HEADER));
+        return timeout != null ? timeout : defaultTimeoutMillis;
+    }
+
+    private static Long parse(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void writeTimeout(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_GATEWAY_TIMEOUT);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\":\"deadline_exceeded\"}");
+    }
+}
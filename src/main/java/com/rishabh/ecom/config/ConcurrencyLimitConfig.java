@@ -0,0 +1,38 @@
+package com.rishabh.ecom.config;
+
+import com.rishabh.ecom.ratelimit.ConcurrencyLimitFilter;
+import com.rishabh.ecom.ratelimit.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Concurrency Limit Configuration
+ *
+ * Separate adaptive bulkheads for search, get-by-id, auth and admin writes, so a burst in
+ * one class (e.g. uncached LIKE searches) cannot take every Tomcat thread and pooled
+ * connection from the others.
+ * - Limits start at app.concurrency-limit.routes.<class>.initial and move between min and max
+ * - Excess requests are shed with 503 before authentication
+ */
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "app.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            ConcurrencyLimitProperties properties,
+            MeterRegistry registry) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new ConcurrencyLimitFilter(properties, registry));
+        registrationBean.addUrlPatterns("/api/*");
+        // Inside the metrics filter, so shed requests are still timed, but ahead of security
+        registrationBean.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registrationBean;
+    }
+}
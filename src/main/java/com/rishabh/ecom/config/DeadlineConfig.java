@@ -0,0 +1,95 @@
+package com.rishabh.ecom.config;
+
+import com.rishabh.ecom.common.RequestDeadline;
+import com.rishabh.ecom.common.RequestDeadlineFilter;
+import com.rishabh.ecom.db.DeadlineAwareDataSource;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.protocol.RedisCommand;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request deadlines (app.deadline.*)
+ *
+ * - Each request gets a deadline from X-Request-Deadline / X-Request-Timeout, or default-timeout
+ * - Bulk PATCH/DELETE /api/v1/products use bulk-timeout as default and cap instead
+ * - JDBC statements get a query timeout from the remaining budget
+ * - Redis commands time out at the smaller of spring.data.redis.timeout and the remaining budget
+ * - Work that outlives the deadline ends with 504
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.deadline", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeadlineConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestDeadlineFilter> requestDeadlineFilter(
+            @Value("${app.deadline.default-timeout:10s}") Duration defaultTimeout,
+            @Value("${app.deadline.max-timeout:30s}") Duration maxTimeout,
+            @Value("${app.deadline.bulk-timeout:5m}") Duration bulkTimeout) {
+        FilterRegistrationBean<RequestDeadlineFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new RequestDeadlineFilter(defaultTimeout, maxTimeout, bulkTimeout));
+        registrationBean.addUrlPatterns("/api/*");
+        // Just inside the metrics filter, so time spent queueing in later filters counts against the budget
+        registrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registrationBean;
+    }
+
+    @Bean
+    public static BeanPostProcessor deadlineAwareDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof DeadlineAwareDataSource
+                        || !"dataSource".equals(beanName)) {
+                    return bean;
+                }
+                return new DeadlineAwareDataSource(dataSource);
+            }
+        };
+    }
+
+    /**
+     * Replaces Boot's client options to install a per-command timeout source. Lettuce asks
+     * it for the timeout on the thread that issues the command, where the deadline is bound.
+     */
+    @Bean
+    public LettuceClientConfigurationBuilderCustomizer deadlineAwareRedisTimeouts(RedisProperties properties) {
+        long commandTimeoutNanos = properties.getTimeout() != null
+            ? properties.getTimeout().toNanos() : TimeUnit.SECONDS.toNanos(60);
+        TimeoutOptions.TimeoutSource source = new TimeoutOptions.TimeoutSource() {
+            @Override
+            public long getTimeout(RedisCommand<?, ?, ?> command) {
+                // Lettuce treats 0 as "no timeout", so an exhausted budget still needs 1ns
+                return Math.max(1, Math.min(commandTimeoutNanos, RequestDeadline.remainingNanos()));
+            }
+
+            @Override
+            public TimeUnit getTimeUnit() {
+                return TimeUnit.NANOSECONDS;
+            }
+        };
+        return builder -> {
+            SocketOptions.Builder socket = SocketOptions.builder();
+            if (properties.getConnectTimeout() != null) {
+                socket.connectTimeout(properties.getConnectTimeout());
+            }
+            builder.clientOptions(ClientOptions.builder()
+                .socketOptions(socket.build())
+                .timeoutOptions(TimeoutOptions.builder().timeoutSource(source).build())
+                .build());
+        };
+    }
+}
@@ -1,16 +1,50 @@
 package com.rishabh.ecom.config;
 
+import com.rishabh.ecom.metrics.QueryCountingStatementInspector;
+import com.rishabh.ecom.metrics.RequestMetricsFilter;
+import com.rishabh.ecom.metrics.SloProperties;
+import com.rishabh.ecom.metrics.SloTracker;
 import io.micrometer.core.aop.TimedAspect;
 import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 
+/**
+ * Request metrics.
+ * - api.requests timer per route, tagged with cache outcome, DB statement count and result size
+ * - SLO error-budget tracking behind /api/v1/metrics/slo
+ */
 @Configuration
+@EnableConfigurationProperties(SloProperties.class)
 public class MetricsConfig {
 
     @Bean
     public TimedAspect timedAspect(MeterRegistry registry) {
         return new TimedAspect(registry);
     }
-}
 
+    @Bean
+    public SloTracker sloTracker(SloProperties properties) {
+        return new SloTracker(properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(MeterRegistry registry, SloTracker sloTracker) {
+        FilterRegistrationBean<RequestMetricsFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new RequestMetricsFilter(registry, sloTracker));
+        registrationBean.addUrlPatterns("/api/*");
+        // Outermost, so time spent in security and rate limiting is included
+        registrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registrationBean;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingStatementInspector());
+    }
+}
@@ -0,0 +1,33 @@
+package com.rishabh.ecom.config;
+
+import com.rishabh.ecom.product.ProductExistenceFilter;
+import com.rishabh.ecom.product.ProductExistenceGuard;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 404 for unknown product ids before any cache or database call
+ * (app.products.existence-filter.enabled; the guard is a no-op when disabled).
+ * Runs after Spring Security and just before the response-body cache (order 10).
+ * Consistency tokens are honoured for the same window as the replica router's
+ * (app.datasource.routing max-lag plus consistency-margin).
+ */
+@Configuration
+public class ProductExistenceConfig {
+
+    @Bean
+    public FilterRegistrationBean<ProductExistenceFilter> productExistenceFilter(
+            ProductExistenceGuard guard,
+            @Value("${app.datasource.routing.max-lag:5s}") Duration maxLag,
+            @Value("${app.datasource.routing.consistency-margin:1s}") Duration consistencyMargin) {
+        FilterRegistrationBean<ProductExistenceFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new ProductExistenceFilter(guard, maxLag.plus(consistencyMargin)));
+        registrationBean.addUrlPatterns("/api/v1/products/*");
+        registrationBean.setOrder(9);
+        return registrationBean;
+    }
+}
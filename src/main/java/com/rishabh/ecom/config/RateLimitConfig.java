@@ -1,55 +1,65 @@
 package com.rishabh.ecom.config;
 
-// Temporarily disabled - bucket4j dependency commented out in pom.xml
-// import io.github.bucket4j.BucketConfiguration;
-// import org.springframework.context.annotation.Bean;
-// import org.springframework.context.annotation.Configuration;
-
-// import java.time.Duration;
+import com.rishabh.ecom.ratelimit.LocalTokenBucketStore;
+import com.rishabh.ecom.ratelimit.RateLimitFilter;
+import com.rishabh.ecom.ratelimit.RateLimitProperties;
+import com.rishabh.ecom.ratelimit.RedisTokenBucketStore;
+import com.rishabh.ecom.ratelimit.TokenBucketStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 /**
  * Rate Limiting Configuration
- * 
- * Rate limiting is configured but not actively enforced in this version.
- * To enable rate limiting, create a filter/interceptor that uses Bucket4j.
- * 
- * Default limits:
- * - 100 requests per minute per user/IP
- * - Can be customized per endpoint or user role
- * 
- * NOTE: Currently disabled - uncomment bucket4j dependency in pom.xml to enable
+ *
+ * Token buckets keyed by JWT subject (tiered by role) or by client IP for anonymous callers.
+ *
+ * Default limits (app.rate-limit.*):
+ * - ROLE_USER and anonymous IPs: 100 requests per minute
+ * - ROLE_ADMIN: 500 requests per minute
+ * - store: "local" keeps buckets per node, "redis" shares them across nodes
  */
-// @Configuration
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class RateLimitConfig {
 
+    @Bean
+    public LocalTokenBucketStore localTokenBucketStore() {
+        return new LocalTokenBucketStore();
+    }
+
+    @Bean
+    public TokenBucketStore tokenBucketStore(
+            RateLimitProperties properties,
+            LocalTokenBucketStore localStore,
+            ObjectProvider<StringRedisTemplate> redisTemplate) {
+        StringRedisTemplate redis = redisTemplate.getIfAvailable();
+        if ("redis".equalsIgnoreCase(properties.store()) && redis != null) {
+            return new RedisTokenBucketStore(redis, properties.redisKeyPrefix(), localStore);
+        }
+        return localStore;
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(
+            TokenBucketStore tokenBucketStore,
+            RateLimitProperties properties,
+            MeterRegistry meterRegistry) {
+        return new RateLimitFilter(tokenBucketStore, properties, meterRegistry);
+    }
+
     /**
-     * Default bucket configuration for rate limiting
-     * - Capacity: 100 requests
-     * - Refill: 100 tokens per minute
-     * - Initial tokens: 100
-     */
-    // @Bean
-    // public BucketConfiguration defaultBucketConfig() {
-    //     return BucketConfiguration.builder()
-    //         .addLimit(limit -> limit
-    //             .capacity(100)
-    //             .refillIntervally(100, Duration.ofMinutes(1))
-    //             .initialTokens(100))
-    //         .build();
-    // }
-    
-    /**
-     * Admin bucket configuration (higher limits)
-     * - Capacity: 500 requests
-     * - Refill: 500 tokens per minute
+     * The filter runs inside the security chain (see SecurityConfig), not as a
+     * standalone servlet filter, so it sees the authenticated principal.
      */
-    // @Bean
-    // public BucketConfiguration adminBucketConfig() {
-    //     return BucketConfiguration.builder()
-    //         .addLimit(limit -> limit
-    //             .capacity(500)
-    //             .refillIntervally(500, Duration.ofMinutes(1))
-    //             .initialTokens(500))
-    //         .build();
-    // }
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registrationBean = new FilterRegistrationBean<>(rateLimitFilter);
+        registrationBean.setEnabled(false);
+        return registrationBean;
+    }
 }
@@ -0,0 +1,128 @@
+package com.rishabh.ecom.config;
+
+import com.rishabh.ecom.db.ReadConsistency;
+import com.rishabh.ecom.db.ReplicaLagMonitor;
+import com.rishabh.ecom.db.ReplicaProperties;
+import com.rishabh.ecom.db.ReplicaRoutingDataSource;
+import com.rishabh.ecom.db.ReplicaTarget;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read-replica routing (app.datasource.routing.enabled=true).
+ *
+ * - @Transactional(readOnly = true) work goes to the least-busy healthy replica
+ * - Writes go to the primary and return an X-Consistency-Token
+ * - Requests sending that token back read from the primary until replicas catch up
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public List<ReplicaTarget> replicaTargets(ReplicaProperties properties) {
+        return properties.replicas().stream()
+            .map(replica -> {
+                HikariDataSource dataSource = new HikariDataSource();
+                dataSource.setPoolName("replica-" + replica.name());
+                dataSource.setJdbcUrl(replica.url());
+                dataSource.setUsername(replica.username());
+                dataSource.setPassword(replica.password());
+                dataSource.setMaximumPoolSize(properties.replicaPoolSize());
+                dataSource.setReadOnly(true);
+                return new ReplicaTarget(replica.name(), dataSource);
+            })
+            .toList();
+    }
+
+    /**
+     * The replica pools are built inside replicaTargets rather than as beans, so close them here.
+     */
+    @Bean
+    public DisposableBean replicaPoolsShutdown(List<ReplicaTarget> replicaTargets) {
+        return () -> {
+            for (ReplicaTarget replica : replicaTargets) {
+                replica.close();
+            }
+        };
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            HikariDataSource primaryDataSource,
+            List<ReplicaTarget> replicaTargets,
+            ReplicaProperties properties,
+            MeterRegistry registry) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+            primaryDataSource, replicaTargets, properties.maxLag(), properties.consistencyMargin(), registry);
+        // Defer connection lookup until the first statement, when the read-only flag is known
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(List<ReplicaTarget> replicaTargets, MeterRegistry registry) {
+        return new ReplicaLagMonitor(replicaTargets, registry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadConsistencyFilter> readConsistencyFilter(ReplicaProperties properties) {
+        FilterRegistrationBean<ReadConsistencyFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new ReadConsistencyFilter(properties.tokenWindow()));
+        registrationBean.addUrlPatterns("/api/*");
+        registrationBean.setOrder(2);
+        return registrationBean;
+    }
+
+    /**
+     * Binds the client's X-Consistency-Token to the request thread for the router.
+     */
+    public static class ReadConsistencyFilter extends OncePerRequestFilter {
+        private final Duration tokenWindow;
+
+        public ReadConsistencyFilter(Duration tokenWindow) {
+            this.tokenWindow = tokenWindow;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            ReadConsistency.requireFreshAsOf(
+                ReadConsistency.parseToken(request.getHeader(ReadConsistency.HEADER), tokenWindow));
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                ReadConsistency.clear();
+            }
+        }
+    }
+}
@@ -2,18 +2,32 @@ package com.rishabh.ecom.config;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.rishabh.ecom.cache.ResilientCacheManager;
+import com.rishabh.ecom.metrics.CacheOutcome;
+import com.rishabh.ecom.metrics.InstrumentedCacheManager;
+import com.rishabh.ecom.product.CachedBody;
+import com.rishabh.ecom.product.ProductBodyCacheFilter;
+import com.rishabh.ecom.product.ProductSkuService;
+import com.rishabh.ecom.product.dto.ProductDtos;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
@@ -23,13 +37,9 @@ public class RedisCacheConfig {
 
     @Bean
     public RedisCacheConfiguration cacheConfiguration() {
-        // Create ObjectMapper with proper Java 8 time support
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        ObjectMapper objectMapper = objectMapper();
         
-        // Enable polymorphic type handling for PageImpl and collections
+        // Enable polymorphic type handling for entities and collections
         objectMapper.activateDefaultTyping(
             objectMapper.getPolymorphicTypeValidator(),
             ObjectMapper.DefaultTyping.NON_FINAL,
@@ -47,11 +57,58 @@ public class RedisCacheConfig {
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
     }
 
+    /**
+     * "products" holds one known type, so it is stored without per-object @class type ids.
+     */
+    public RedisCacheConfiguration productsCacheConfiguration() {
+        ObjectMapper objectMapper = objectMapper();
+        JavaType pageType = objectMapper.getTypeFactory()
+            .constructParametricType(ProductDtos.PageResponse.class, ProductDtos.Summary.class);
+        return cacheConfiguration()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                    new Jackson2JsonRedisSerializer<>(objectMapper, pageType)));
+    }
+
+    /**
+     * Decorators, outermost first:
+     * - InstrumentedCacheManager tags the request timer with the hit or miss
+     * - TransactionAwareCacheManagerProxy defers puts and evictions to after commit
+     * - ResilientCacheManager fails fast behind the redisCache breaker and writes asynchronously
+     */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        return RedisCacheManager.builder(redisConnectionFactory)
+    public CacheManager cacheManager(
+            RedisConnectionFactory redisConnectionFactory,
+            CircuitBreaker redisCacheCircuitBreaker,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.writer.threads:2}") int writerThreads,
+            @Value("${app.cache.writer.queue-size:1000}") int writerQueueSize) {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(cacheConfiguration())
-                .transactionAware()
+                .withCacheConfiguration("products", productsCacheConfiguration())
+                // Sparse-fieldset pages are cached as the JSON already rendered for the response
+                .withCacheConfiguration("productFields", cacheConfiguration()
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(RedisSerializer.string())))
+                // Final response bytes (raw and gzip), framed by CachedBody.Serializer
+                .withCacheConfiguration(ProductBodyCacheFilter.CACHE, cacheConfiguration()
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new CachedBody.Serializer())))
+                // SKU -> product id as a plain decimal string; the product itself is in productById
+                .withCacheConfiguration(ProductSkuService.CACHE, cacheConfiguration()
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                            new GenericToStringSerializer<>(Long.class))))
                 .build();
+        redisCacheManager.afterPropertiesSet();
+        ResilientCacheManager resilient = new ResilientCacheManager(
+                redisCacheManager, redisCacheCircuitBreaker, meterRegistry, writerThreads, writerQueueSize);
+        // Redis is the shared (L2) tier; the user profile cache reports the in-process (L1) tier
+        return new InstrumentedCacheManager(new TransactionAwareCacheManagerProxy(resilient), CacheOutcome.L2);
+    }
+
+    private static ObjectMapper objectMapper() {
+        // ObjectMapper with proper Java 8 time support
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return objectMapper;
     }
 }
@@ -1,9 +1,12 @@
 package com.rishabh.ecom.config;
 
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
 import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -35,8 +38,30 @@ public class ResilienceConfig {
     }
 
     @Bean
-    public CircuitBreakerRegistry circuitBreakerRegistry() {
-        return CircuitBreakerRegistry.of(circuitBreakerConfig());
+    public CircuitBreakerRegistry circuitBreakerRegistry(MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(circuitBreakerConfig());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    /**
+     * Redis Cache Circuit Breaker
+     * - Counts calls slower than 100ms as failures, so a degraded Redis trips it too
+     * - Opens at 50% failed or slow calls over the last 50 calls (minimum 20)
+     * - Stays open for 5 seconds; 5 trial calls decide whether to close again
+     */
+    @Bean
+    public CircuitBreaker redisCacheCircuitBreaker(CircuitBreakerRegistry registry) {
+        return registry.circuitBreaker("redisCache", CircuitBreakerConfig.custom()
+            .failureRateThreshold(50)
+            .slowCallRateThreshold(50)
+            .slowCallDurationThreshold(Duration.ofMillis(100))
+            .slidingWindowSize(50)
+            .minimumNumberOfCalls(20)
+            .waitDurationInOpenState(Duration.ofSeconds(5))
+            .automaticTransitionFromOpenToHalfOpenEnabled(true)
+            .permittedNumberOfCallsInHalfOpenState(5)
+            .build());
     }
 
     /**
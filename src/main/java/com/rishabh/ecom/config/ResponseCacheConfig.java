@@ -0,0 +1,32 @@
+package com.rishabh.ecom.config;
+
+import com.rishabh.ecom.product.ProductBodyCacheFilter;
+import com.rishabh.ecom.product.ProductViewCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Encoded response-body cache for product reads (app.response-cache.enabled).
+ * Registered after the Spring Security chain (order -100), so only authenticated
+ * requests that passed rate limiting are answered from it.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.response-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheConfig {
+
+    @Bean
+    public FilterRegistrationBean<ProductBodyCacheFilter> productBodyCacheFilter(
+            CacheManager cacheManager,
+            ProductViewCounter views,
+            @Value("${app.response-cache.min-gzip-bytes:512}") int minGzipBytes) {
+        FilterRegistrationBean<ProductBodyCacheFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new ProductBodyCacheFilter(cacheManager.getCache(ProductBodyCacheFilter.CACHE), minGzipBytes, views));
+        registrationBean.addUrlPatterns("/api/v1/products", "/api/v1/products/*");
+        registrationBean.setOrder(10);
+        return registrationBean;
+    }
+}
@@ -1,6 +1,7 @@
 package com.rishabh.ecom.config;
 
 import com.rishabh.ecom.auth.JwtAuthFilter;
+import com.rishabh.ecom.ratelimit.RateLimitFilter;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,9 +24,11 @@ import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWrite
 public class SecurityConfig {
   private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
   private final JwtAuthFilter jwtAuthFilter;
+  private final RateLimitFilter rateLimitFilter;
 
-  public SecurityConfig(JwtAuthFilter jwtAuthFilter) {
+  public SecurityConfig(JwtAuthFilter jwtAuthFilter, RateLimitFilter rateLimitFilter) {
     this.jwtAuthFilter = jwtAuthFilter;
+    this.rateLimitFilter = rateLimitFilter;
   }
 
   @Bean
@@ -58,10 +61,12 @@ public class SecurityConfig {
         .requestMatchers(HttpMethod.GET, "/api/v1/products/**").authenticated()
         .requestMatchers(HttpMethod.POST, "/api/v1/products/**").hasRole("ADMIN")
         .requestMatchers(HttpMethod.PUT, "/api/v1/products/**").hasRole("ADMIN")
+        .requestMatchers(HttpMethod.PATCH, "/api/v1/products/**").hasRole("ADMIN")
         .requestMatchers(HttpMethod.DELETE, "/api/v1/products/**").hasRole("ADMIN")
         .anyRequest().authenticated()
       )
       .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+      .addFilterAfter(rateLimitFilter, JwtAuthFilter.class)
       .exceptionHandling(ex -> ex
         .authenticationEntryPoint((request, response, authException) -> {
           logger.error("Authentication failed for {}: {}", request.getRequestURI(), authException.getMessage());
@@ -0,0 +1,52 @@
+package com.rishabh.ecom.config;
+
+import brave.handler.SpanHandler;
+import com.rishabh.ecom.metrics.FileSpanHandler;
+import com.rishabh.ecom.metrics.TailSamplingProperties;
+import com.rishabh.ecom.metrics.TailSamplingSpanHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import zipkin2.reporter.brave.AsyncZipkinSpanHandler;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Trace export
+ *
+ * management.tracing.sampling.probability stays at 1.0 so every request is recorded locally;
+ * what leaves the process is decided per trace once it completes:
+ * - all errors and all traces slower than app.tracing.slow-threshold
+ * - plus app.tracing.base-rate of the rest
+ * Exporters are Zipkin (when management.zipkin.tracing.endpoint is reachable) and/or a
+ * local JSON-lines file (app.tracing.file.enabled).
+ */
+@Configuration
+@EnableConfigurationProperties(TailSamplingProperties.class)
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing.file", name = "enabled", havingValue = "true")
+    public FileSpanHandler fileSpanHandler(TailSamplingProperties properties) throws IOException {
+        return new FileSpanHandler(Path.of(properties.file().path()), properties.file().queueSize());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing", name = "tail-sampling", havingValue = "true", matchIfMissing = true)
+    public TailSamplingSpanHandler tailSamplingSpanHandler(
+            TailSamplingProperties properties,
+            ObjectProvider<AsyncZipkinSpanHandler> zipkin,
+            ObjectProvider<FileSpanHandler> file,
+            MeterRegistry registry) {
+        List<SpanHandler> exporters = new ArrayList<>();
+        zipkin.ifAvailable(exporters::add);
+        file.ifAvailable(exporters::add);
+        return new TailSamplingSpanHandler(exporters, properties, registry);
+    }
+}
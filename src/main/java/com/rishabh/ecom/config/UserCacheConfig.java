@@ -0,0 +1,43 @@
+package com.rishabh.ecom.config;
+
+import com.rishabh.ecom.user.UserProfileCache;
+import com.rishabh.ecom.user.UserProfileEvictionBroadcaster;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Cross-node invalidation for the in-process user profile cache.
+ *
+ * Each node keeps its own {@link UserProfileCache}; evictions made after a user or role
+ * commit are published on app.auth.profile-cache.channel so every node drops the entry,
+ * not just the one that handled the write.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.auth.profile-cache", name = "broadcast", havingValue = "true", matchIfMissing = true)
+public class UserCacheConfig {
+
+    @Bean
+    public UserProfileEvictionBroadcaster userProfileEvictionBroadcaster(
+            StringRedisTemplate redis,
+            UserProfileCache profileCache,
+            @Value("${app.auth.profile-cache.channel:user-profile-evictions}") String channel) {
+        return new UserProfileEvictionBroadcaster(redis, profileCache, channel);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer userProfileEvictionContainer(
+            RedisConnectionFactory connectionFactory,
+            UserProfileEvictionBroadcaster broadcaster,
+            @Value("${app.auth.profile-cache.channel:user-profile-evictions}") String channel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(broadcaster, new ChannelTopic(channel));
+        return container;
+    }
+}
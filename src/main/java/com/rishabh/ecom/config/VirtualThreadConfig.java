@@ -0,0 +1,59 @@
+package com.rishabh.ecom.config;
+
+import com.rishabh.ecom.db.ConnectionLimitingDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Execution model
+ *
+ * With the "vthreads" Spring profile on a Java 21 runtime (mvn -Pjava21), Spring Boot's
+ * spring.threads.virtual.enabled switches Tomcat request handling, the @Async executor
+ * and the scheduler to virtual threads. On Java 17 the property is ignored.
+ *
+ * Virtual threads remove the thread-count cap, so the DB connection budget is enforced here:
+ * - Hikari's pool is sized independently (spring.datasource.hikari.maximum-pool-size)
+ * - app.datasource.max-concurrent permits gate getConnection() in front of the pool
+ */
+@Configuration
+@EnableAsync
+public class VirtualThreadConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource", name = "max-concurrent")
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource
+                        || !"dataSource".equals(beanName)) {
+                    return bean;
+                }
+                int maxConcurrent = environment.getRequiredProperty("app.datasource.max-concurrent", Integer.class);
+                Duration acquireTimeout = environment.getProperty(
+                    "app.datasource.acquire-timeout", Duration.class, Duration.ofSeconds(5));
+                ConnectionLimitingDataSource limited =
+                    new ConnectionLimitingDataSource(dataSource, maxConcurrent, acquireTimeout);
+                meterRegistry.ifAvailable(registry -> {
+                    Gauge.builder("db.connection.permits.available", limited, ConnectionLimitingDataSource::availablePermits)
+                        .register(registry);
+                    Gauge.builder("db.connection.permits.waiting", limited, ConnectionLimitingDataSource::queueLength)
+                        .register(registry);
+                });
+                return limited;
+            }
+        };
+    }
+}
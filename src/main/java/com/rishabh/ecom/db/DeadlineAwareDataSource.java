@@ -0,0 +1,91 @@
+package com.rishabh.ecom.db;
+
+import com.rishabh.ecom.common.RequestDeadline;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+
+/**
+ * Gives every statement created on a request thread a query timeout taken from the
+ * request's remaining deadline ({@link RequestDeadline}), so the driver cancels it once the
+ * client has given up. JDBC timeouts are whole seconds, so the budget is rounded up.
+ * Statements are refused with SQLTimeoutException once the deadline has passed; Hibernate
+ * and Spring translate that into a QueryTimeoutException, answered with 504.
+ */
+public class DeadlineAwareDataSource extends DelegatingDataSource {
+
+    public DeadlineAwareDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static void checkDeadline() throws SQLTimeoutException {
+        if (RequestDeadline.expired()) {
+            throw new SQLTimeoutException("Request deadline exceeded");
+        }
+    }
+
+    private static Connection wrap(Connection target) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            new StatementTimeoutHandler(target));
+    }
+
+    private static final class StatementTimeoutHandler implements InvocationHandler {
+        private final Connection target;
+
+        private StatementTimeoutHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (name.equals("unwrap") && ((Class<?>) args[0]).isInstance(target)) {
+                return target;
+            }
+            boolean createsStatement = name.equals("createStatement") || name.equals("prepareStatement")
+                || name.equals("prepareCall");
+            if (createsStatement) {
+                checkDeadline();
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            if (createsStatement && result instanceof Statement statement) {
+                int timeout = RequestDeadline.queryTimeoutSeconds();
+                if (timeout > 0) {
+                    statement.setQueryTimeout(timeout);
+                }
+            }
+            return result;
+        }
+    }
+}
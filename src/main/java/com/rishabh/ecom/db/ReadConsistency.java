@@ -0,0 +1,77 @@
+package com.rishabh.ecom.db;
+
+import java.time.Duration;
+
+/**
+ * Per-request read-your-writes state, held like SecurityContextHolder.
+ *
+ * The consistency token is the wall-clock millis at which a write committed on the primary.
+ * A request carrying a token may only read from replicas whose data is at least that fresh;
+ * otherwise it is routed to the primary.
+ *
+ * Tokens come from the client, so they are bounded before use: a future token is clamped to
+ * now, and one older than the replica-lag window is ignored because every eligible replica
+ * already has that write.
+ */
+public final class ReadConsistency {
+
+    public static final String HEADER = "X-Consistency-Token";
+
+    private static final ThreadLocal<Long> REQUIRED_FRESHNESS = new ThreadLocal<>();
+    private static final ThreadLocal<Long> LAST_WRITE = new ThreadLocal<>();
+
+    private ReadConsistency() {}
+
+    public static void requireFreshAsOf(Long epochMillis) {
+        if (epochMillis == null) {
+            REQUIRED_FRESHNESS.remove();
+        } else {
+            REQUIRED_FRESHNESS.set(epochMillis);
+        }
+    }
+
+    public static Long requiredFreshness() {
+        return REQUIRED_FRESHNESS.get();
+    }
+
+    static void recordWrite(long epochMillis) {
+        LAST_WRITE.set(epochMillis);
+    }
+
+    /**
+     * @return token for the last write committed by this request, or null if it made none
+     */
+    public static String lastWriteToken() {
+        Long lastWrite = LAST_WRITE.get();
+        return lastWrite == null ? null : Long.toString(lastWrite);
+    }
+
+    /**
+     * @param window max replica lag plus consistency margin
+     * @return the write time to be fresh as of, or null for a missing, malformed or expired token
+     */
+    public static Long parseToken(String token, Duration window) {
+        return parseToken(token, window, System.currentTimeMillis());
+    }
+
+    static Long parseToken(String token, Duration window, long nowMillis) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        long writtenAt;
+        try {
+            writtenAt = Long.parseLong(token.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (writtenAt < nowMillis - window.toMillis()) {
+            return null;
+        }
+        return Math.min(writtenAt, nowMillis);
+    }
+
+    public static void clear() {
+        REQUIRED_FRESHNESS.remove();
+        LAST_WRITE.remove();
+    }
+}
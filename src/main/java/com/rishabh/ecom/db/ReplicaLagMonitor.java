@@ -0,0 +1,63 @@
+package com.rishabh.ecom.db;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Polls SHOW REPLICA STATUS on every replica and publishes the lag as db.replica.lag.
+ * A replica whose SQL thread is stopped or unreachable reports unknown lag and
+ * is skipped by the router until it recovers.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final List<ReplicaTarget> replicas;
+
+    public ReplicaLagMonitor(List<ReplicaTarget> replicas, MeterRegistry registry) {
+        this.replicas = replicas;
+        for (ReplicaTarget replica : replicas) {
+            Gauge.builder("db.replica.lag", replica, r -> r.lagMillis() == ReplicaTarget.UNKNOWN_LAG ? Double.NaN : r.lagMillis())
+                .description("Replication lag in milliseconds")
+                .baseUnit("milliseconds")
+                .tag("replica", replica.name())
+                .register(registry);
+            Gauge.builder("db.replica.outstanding", replica, ReplicaTarget::outstanding)
+                .description("Connections currently checked out from the replica")
+                .tag("replica", replica.name())
+                .register(registry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-poll-interval:PT2S}")
+    public void poll() {
+        for (ReplicaTarget replica : replicas) {
+            replica.updateLag(measure(replica));
+        }
+    }
+
+    private long measure(ReplicaTarget replica) {
+        try (Connection connection = replica.dataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!rs.next()) {
+                // Not configured as a replica (e.g. local dev pointing at the primary)
+                return 0L;
+            }
+            long seconds = rs.getLong("Seconds_Behind_Source");
+            return rs.wasNull() ? ReplicaTarget.UNKNOWN_LAG : seconds * 1000L;
+        } catch (SQLException e) {
+            log.warn("Could not read replication status for {}: {}", replica.name(), e.getMessage());
+            return ReplicaTarget.UNKNOWN_LAG;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.rishabh.ecom.db;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * app.datasource.routing.* settings.
+ * - replicas: read replicas, each with its own Hikari pool
+ * - maxLag: replicas further behind than this receive no reads
+ * - consistencyMargin: slack added to consistency tokens to cover the 1s granularity of replica lag
+ */
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public record ReplicaProperties(
+    @DefaultValue("false") boolean enabled,
+    List<Replica> replicas,
+    @DefaultValue("5s") Duration maxLag,
+    @DefaultValue("1s") Duration consistencyMargin,
+    @DefaultValue("10") int replicaPoolSize
+) {
+
+    public record Replica(String name, String url, String username, String password) {}
+
+    public List<Replica> replicas() {
+        return replicas != null ? replicas : List.of();
+    }
+
+    /**
+     * How long a consistency token can still steer reads: after that every eligible replica has the write.
+     */
+    public Duration tokenWindow() {
+        return maxLag.plus(consistencyMargin);
+    }
+}
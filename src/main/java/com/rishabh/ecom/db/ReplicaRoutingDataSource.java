@@ -0,0 +1,250 @@
+package com.rishabh.ecom.db;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the replica with the fewest outstanding connections,
+ * and everything else to the primary.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction's read-only flag is
+ * only visible once the first statement asks for a connection.
+ *
+ * A replica is skipped when its lag exceeds maxLag, or when the request carries a
+ * consistency token newer than the replica's data (see {@link ReadConsistency}).
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final List<ReplicaTarget> replicas;
+    private final long maxLagMillis;
+    private final long consistencyMarginMillis;
+    private final AtomicInteger rotation = new AtomicInteger();
+
+    private final Counter writes;
+    private final Counter replicaReads;
+    private final Counter primaryReadsForConsistency;
+    private final Counter primaryReadsNoReplica;
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            List<ReplicaTarget> replicas,
+            Duration maxLag,
+            Duration consistencyMargin,
+            MeterRegistry registry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagMillis = maxLag.toMillis();
+        this.consistencyMarginMillis = consistencyMargin.toMillis();
+        this.writes = decisions(registry, "primary", "write");
+        this.replicaReads = decisions(registry, "replica", "read");
+        this.primaryReadsForConsistency = decisions(registry, "primary", "read_your_writes");
+        this.primaryReadsNoReplica = decisions(registry, "primary", "no_healthy_replica");
+    }
+
+    private static Counter decisions(MeterRegistry registry, String target, String reason) {
+        return Counter.builder("db.routing.decisions")
+            .description("Connections handed out by the replica router")
+            .tag("target", target)
+            .tag("reason", reason)
+            .register(registry);
+    }
+
+    public List<ReplicaTarget> replicas() {
+        return replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(target -> target.getConnection(username, password));
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource target) throws SQLException;
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+
+        if (!readOnly) {
+            writes.increment();
+            return trackWrites(opener.open(primary), inTransaction);
+        }
+
+        Long freshAsOf = ReadConsistency.requiredFreshness();
+        ReplicaTarget replica = chooseReplica(freshAsOf);
+        if (replica == null) {
+            (freshAsOf != null ? primaryReadsForConsistency : primaryReadsNoReplica).increment();
+            return opener.open(primary);
+        }
+
+        replicaReads.increment();
+        AtomicInteger outstanding = replica.outstandingCounter();
+        outstanding.incrementAndGet();
+        try {
+            return onClose(opener.open(replica.dataSource()), outstanding::decrementAndGet);
+        } catch (SQLException | RuntimeException e) {
+            outstanding.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Least-outstanding-requests among eligible replicas; ties rotate so load spreads evenly.
+     */
+    private ReplicaTarget chooseReplica(Long freshAsOf) {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        int start = Math.floorMod(rotation.getAndIncrement(), size);
+        ReplicaTarget best = null;
+        for (int i = 0; i < size; i++) {
+            ReplicaTarget candidate = replicas.get((start + i) % size);
+            if (candidate.lagMillis() > maxLagMillis) {
+                continue;
+            }
+            if (freshAsOf != null && !candidate.isFreshAsOf(freshAsOf + consistencyMarginMillis, now)) {
+                continue;
+            }
+            if (best == null || candidate.outstanding() < best.outstanding()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Stamps the request's consistency token when a transactional primary connection is released,
+     * which happens after commit, but only if a statement on it executed an update: a read-write
+     * transaction that only read leaves the client free to keep reading from replicas.
+     */
+    private static Connection trackWrites(Connection target, boolean inTransaction) {
+        if (!inTransaction) {
+            return target;
+        }
+        AtomicBoolean wrote = new AtomicBoolean();
+        Connection tracked = (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            new StatementTrackingHandler(target, wrote));
+        return onClose(tracked, () -> {
+            if (wrote.get()) {
+                ReadConsistency.recordWrite(System.currentTimeMillis());
+            }
+        });
+    }
+
+    private static Connection onClose(Connection target, Runnable action) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            new CloseHookHandler(target, action));
+    }
+
+    private static final class CloseHookHandler implements InvocationHandler {
+        private final Connection target;
+        private final Runnable onClose;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private CloseHookHandler(Connection target, Runnable onClose) {
+            this.target = target;
+            this.onClose = onClose;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (name.equals("unwrap") && ((Class<?>) args[0]).isInstance(target)) {
+                return target;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            } finally {
+                if (name.equals("close") && closed.compareAndSet(false, true)) {
+                    onClose.run();
+                }
+            }
+        }
+    }
+
+    /**
+     * Wraps the statements a connection hands out and flags the connection once any of them
+     * runs an update. execute() can't tell a query from an update, so it counts as a write.
+     */
+    private static final class StatementTrackingHandler implements InvocationHandler {
+        private static final Set<String> WRITES = Set.of(
+            "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch", "execute");
+
+        private final Object target;
+        private final AtomicBoolean wrote;
+
+        private StatementTrackingHandler(Object target, AtomicBoolean wrote) {
+            this.target = target;
+            this.wrote = wrote;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (name.equals("unwrap") && ((Class<?>) args[0]).isInstance(target)) {
+                return target;
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            if (WRITES.contains(name) && target instanceof Statement) {
+                wrote.set(true);
+            }
+            Class<?> returned = method.getReturnType();
+            if (result instanceof Statement && returned.isInterface() && Statement.class.isAssignableFrom(returned)) {
+                return Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] {returned},
+                    new StatementTrackingHandler(result, wrote));
+            }
+            return result;
+        }
+    }
+}
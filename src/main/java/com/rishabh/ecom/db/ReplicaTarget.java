@@ -0,0 +1,62 @@
+package com.rishabh.ecom.db;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One read replica with its outstanding-connection count and last measured lag.
+ * Owns its data source: close() shuts the replica's pool down.
+ */
+public final class ReplicaTarget implements AutoCloseable {
+
+    public static final long UNKNOWN_LAG = Long.MAX_VALUE;
+
+    private final String name;
+    private final DataSource dataSource;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile long lagMillis = UNKNOWN_LAG;
+
+    public ReplicaTarget(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    AtomicInteger outstandingCounter() {
+        return outstanding;
+    }
+
+    public long lagMillis() {
+        return lagMillis;
+    }
+
+    public void updateLag(long lagMillis) {
+        this.lagMillis = lagMillis;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * @return true if this replica has applied everything the primary committed up to the given time
+     */
+    public boolean isFreshAsOf(long epochMillis, long nowMillis) {
+        long lag = lagMillis;
+        return lag != UNKNOWN_LAG && nowMillis - lag > epochMillis;
+    }
+}
@@ -0,0 +1,22 @@
+package com.rishabh.ecom.metrics;
+
+/**
+ * Where a request's cached reads were answered from, ordered from best to worst.
+ * A request that touches several caches is tagged with its worst outcome.
+ */
+public enum CacheOutcome {
+    NONE("none"),
+    L1("l1"),
+    L2("l2"),
+    MISS("miss");
+
+    private final String tag;
+
+    CacheOutcome(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
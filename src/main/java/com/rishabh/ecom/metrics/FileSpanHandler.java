@@ -0,0 +1,95 @@
+package com.rishabh.ecom.metrics;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import zipkin2.reporter.brave.MutableSpanBytesEncoder;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Appends spans to a file as Zipkin v2 JSON, one span per line, for environments without a
+ * collector. The file can be replayed into Zipkin later (POST /api/v2/spans as a JSON array).
+ * Spans are queued and written by a daemon thread; when the queue is full they are dropped.
+ */
+public class FileSpanHandler extends SpanHandler implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(FileSpanHandler.class);
+
+    private final BlockingQueue<MutableSpan> queue;
+    private final OutputStream out;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    public FileSpanHandler(Path path, int queueSize) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.out = new BufferedOutputStream(Files.newOutputStream(path,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE));
+        this.writer = new Thread(this::drain, "span-file-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause == Cause.FINISHED && !closed) {
+            queue.offer(span);
+        }
+        return true;
+    }
+
+    private void drain() {
+        List<MutableSpan> batch = new ArrayList<>();
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                // close() interrupts; whatever is still queued is written below
+            }
+            queue.drainTo(batch);
+            write(batch);
+        }
+        queue.drainTo(batch);
+        write(batch);
+    }
+
+    private void write(List<MutableSpan> batch) {
+        try {
+            for (MutableSpan span : batch) {
+                out.write(MutableSpanBytesEncoder.JSON_V2.encode(span));
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException e) {
+            log.warn("Dropping {} spans, trace file not writable: {}", batch.size(), e.getMessage());
+        } finally {
+            batch.clear();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        writer.interrupt();
+        try {
+            writer.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        out.close();
+    }
+}
@@ -0,0 +1,127 @@
+package com.rishabh.ecom.metrics;
+
+import com.rishabh.ecom.product.dto.ProductDtos;
+import org.springframework.data.domain.Page;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-request facts gathered while the request runs, read by {@link RequestMetricsFilter}
+ * when it records the request timer: cache outcome, SQL statements issued and result size.
+ * Bound to the request thread; anything recorded outside a request is ignored, except for
+ * work run through {@link #runOnBehalfOf}, which charges its statements to the requests it serves.
+ */
+public final class RequestMetrics {
+
+    public static final class Context {
+        CacheOutcome cacheOutcome = CacheOutcome.NONE;
+        // Also added to from batch dispatcher threads
+        final AtomicInteger dbQueries = new AtomicInteger();
+        int resultSize = -1;
+
+        Context() {
+        }
+    }
+
+    private static final ThreadLocal<Context> CURRENT = new ThreadLocal<>();
+
+    private RequestMetrics() {
+    }
+
+    static Context begin() {
+        Context context = new Context();
+        CURRENT.set(context);
+        return context;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return the calling request's context, or null outside a request
+     */
+    public static Context current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs work shared by several requests, such as a batched query on a dispatcher thread,
+     * and adds the statements it issued to each of them.
+     */
+    public static void runOnBehalfOf(Collection<Context> requests, Runnable work) {
+        Context previous = CURRENT.get();
+        Context shared = new Context();
+        CURRENT.set(shared);
+        try {
+            work.run();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+            int queries = shared.dbQueries.get();
+            if (queries > 0) {
+                requests.stream().filter(Objects::nonNull).distinct()
+                    .forEach(context -> context.dbQueries.addAndGet(queries));
+            }
+        }
+    }
+
+    public static void recordCache(CacheOutcome outcome) {
+        Context context = CURRENT.get();
+        if (context != null && outcome.compareTo(context.cacheOutcome) > 0) {
+            context.cacheOutcome = outcome;
+        }
+    }
+
+    public static void recordQuery() {
+        Context context = CURRENT.get();
+        if (context != null) {
+            context.dbQueries.incrementAndGet();
+        }
+    }
+
+    public static void recordResult(Object body) {
+        Context context = CURRENT.get();
+        if (context != null) {
+            context.resultSize = sizeOf(body);
+        }
+    }
+
+    static int sizeOf(Object body) {
+        if (body == null) {
+            return 0;
+        }
+        if (body instanceof ProductDtos.PageResponse<?> page) {
+            return page.content().size();
+        }
+        if (body instanceof Page<?> page) {
+            return page.getNumberOfElements();
+        }
+        if (body instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        return 1;
+    }
+
+    /**
+     * Buckets keep the tag cardinality fixed no matter how many statements a request runs.
+     */
+    static String queryCountTag(int queries) {
+        return queries <= 1 ? Integer.toString(queries) : "2+";
+    }
+
+    static String resultSizeTag(int size) {
+        if (size < 0) {
+            return "none";
+        }
+        if (size <= 1) {
+            return Integer.toString(size);
+        }
+        return size <= 20 ? "2-20" : "21+";
+    }
+}
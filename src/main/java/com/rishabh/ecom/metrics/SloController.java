@@ -0,0 +1,35 @@
+package com.rishabh.ecom.metrics;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(name = "Metrics", description = "Service level objectives and error budgets")
+@SecurityRequirement(name = "bearer-jwt")
+@RestController
+@RequestMapping("/api/v1/metrics")
+public class SloController {
+
+    private final SloTracker sloTracker;
+
+    public SloController(SloTracker sloTracker) {
+        this.sloTracker = sloTracker;
+    }
+
+    @Operation(
+        summary = "Get SLO error-budget burn",
+        description = "Returns, per objective, request counts, error rate, burn rate and remaining budget " +
+                      "over each configured window. Requires ADMIN role."
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/slo")
+    public List<SloTracker.SloStatus> slo() {
+        return sloTracker.status();
+    }
+}
@@ -0,0 +1,27 @@
+package com.rishabh.ecom.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * app.slo.* settings.
+ * - objectives: a route ("GET /api/v1/products/{id}") must answer without a 5xx within
+ *   the latency threshold for at least the target fraction of requests
+ * - windows: look-back windows for burn-rate reporting, tracked in buckets of the given size
+ */
+@ConfigurationProperties(prefix = "app.slo")
+public record SloProperties(
+    @DefaultValue("1m") Duration bucket,
+    @DefaultValue({"5m", "1h"}) List<Duration> windows,
+    List<Objective> objectives
+) {
+
+    public record Objective(String name, String route, Duration latency, double target) {}
+
+    public List<Objective> objectives() {
+        return objectives != null ? objectives : List.of();
+    }
+}
@@ -0,0 +1,159 @@
+package com.rishabh.ecom.metrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts good and bad requests per SLO objective in a ring of time buckets and reports
+ * error-budget burn over each configured window.
+ *
+ * A burn rate of 1.0 spends the budget exactly over the SLO period; 14.4 over 1h or
+ * 6 over 6h are the usual paging thresholds.
+ *
+ * Each bucket is tagged with its epoch and never reset: rolling over swaps a fresh bucket
+ * into the ring slot with a CAS, so recording takes no lock.
+ */
+public class SloTracker {
+
+    public record Window(long total, long bad, double errorRate, double burnRate, double budgetRemaining) {}
+
+    public record SloStatus(String name, String route, long latencyThresholdMs, double target,
+                            Map<String, Window> windows) {}
+
+    private static final class Bucket {
+        final long epoch;
+        final LongAdder total = new LongAdder();
+        final LongAdder bad = new LongAdder();
+
+        Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+
+    private static final class Tracked {
+        final SloProperties.Objective objective;
+        final long latencyNanos;
+        final AtomicReferenceArray<Bucket> ring;
+        final LongAdder total = new LongAdder();
+        final LongAdder bad = new LongAdder();
+
+        Tracked(SloProperties.Objective objective, int buckets) {
+            this.objective = objective;
+            this.latencyNanos = objective.latency().toNanos();
+            this.ring = new AtomicReferenceArray<>(buckets);
+        }
+    }
+
+    private final Map<String, Tracked> byRoute = new LinkedHashMap<>();
+    private final List<Duration> windows;
+    private final long bucketMillis;
+    private final LongSupplier clockMillis;
+
+    public SloTracker(SloProperties properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    SloTracker(SloProperties properties, LongSupplier clockMillis) {
+        this.bucketMillis = properties.bucket().toMillis();
+        this.windows = properties.windows().stream().sorted().toList();
+        this.clockMillis = clockMillis;
+        if (bucketMillis <= 0 || windows.isEmpty()) {
+            throw new IllegalArgumentException("app.slo needs a positive bucket and at least one window");
+        }
+        long longest = windows.stream().max(Comparator.naturalOrder()).orElseThrow().toMillis();
+        int buckets = (int) Math.max(1, (longest + bucketMillis - 1) / bucketMillis);
+        for (SloProperties.Objective objective : properties.objectives()) {
+            if (objective.target() <= 0 || objective.target() >= 1) {
+                throw new IllegalArgumentException("SLO target must be between 0 and 1: " + objective.name());
+            }
+            byRoute.put(objective.route(), new Tracked(objective, buckets));
+        }
+    }
+
+    /**
+     * @param route "METHOD /uri/pattern", as tagged on the request timer
+     */
+    public void record(String route, int status, long durationNanos) {
+        Tracked tracked = byRoute.get(route);
+        if (tracked == null) {
+            return;
+        }
+        boolean bad = status >= 500 || durationNanos > tracked.latencyNanos;
+        Bucket bucket = current(tracked, clockMillis.getAsLong() / bucketMillis);
+        bucket.total.increment();
+        tracked.total.increment();
+        if (bad) {
+            bucket.bad.increment();
+            tracked.bad.increment();
+        }
+    }
+
+    public List<SloStatus> status() {
+        long epoch = clockMillis.getAsLong() / bucketMillis;
+        List<SloStatus> result = new ArrayList<>(byRoute.size());
+        for (Tracked tracked : byRoute.values()) {
+            SloProperties.Objective objective = tracked.objective;
+            Map<String, Window> views = new LinkedHashMap<>();
+            for (Duration window : windows) {
+                int span = (int) Math.min(tracked.ring.length(), Math.max(1, window.toMillis() / bucketMillis));
+                long total = 0;
+                long bad = 0;
+                for (int i = 0; i < span; i++) {
+                    Bucket bucket = tracked.ring.get(slot(epoch - i, tracked.ring.length()));
+                    if (bucket != null && bucket.epoch == epoch - i) {
+                        total += bucket.total.sum();
+                        bad += bucket.bad.sum();
+                    }
+                }
+                views.put(label(window), window(total, bad, objective.target()));
+            }
+            views.put("sinceStart", window(tracked.total.sum(), tracked.bad.sum(), objective.target()));
+            result.add(new SloStatus(objective.name(), objective.route(), objective.latency().toMillis(),
+                objective.target(), views));
+        }
+        return result;
+    }
+
+    private static Bucket current(Tracked tracked, long epoch) {
+        int slot = slot(epoch, tracked.ring.length());
+        while (true) {
+            Bucket bucket = tracked.ring.get(slot);
+            if (bucket != null && bucket.epoch >= epoch) {
+                // A newer bucket means this thread read the clock just before a rollover:
+                // count the request there rather than resurrect an old epoch
+                return bucket;
+            }
+            Bucket fresh = new Bucket(epoch);
+            if (tracked.ring.compareAndSet(slot, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private static int slot(long epoch, int length) {
+        return (int) Math.floorMod(epoch, (long) length);
+    }
+
+    private static Window window(long total, long bad, double target) {
+        double errorRate = total == 0 ? 0 : (double) bad / total;
+        double burnRate = errorRate / (1 - target);
+        return new Window(total, bad, errorRate, burnRate, 1 - burnRate);
+    }
+
+    private static String label(Duration window) {
+        if (window.toHours() > 0 && window.toMinutesPart() == 0 && window.toSecondsPart() == 0) {
+            return window.toHours() + "h";
+        }
+        if (window.toMinutes() > 0 && window.toSecondsPart() == 0) {
+            return window.toMinutes() + "m";
+        }
+        return window.toSeconds() + "s";
+    }
+}
@@ -0,0 +1,30 @@
+package com.rishabh.ecom.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * app.tracing.* settings.
+ * - baseRate: fraction of ordinary traces exported; errors and slow traces are always kept
+ * - slowThreshold: a trace whose local root takes at least this long counts as slow
+ * - maxTraces / maxSpansPerTrace: bound the in-memory buffer of undecided traces
+ * - file: also (or instead of Zipkin) append kept spans as Zipkin v2 JSON lines to a file
+ */
+@ConfigurationProperties(prefix = "app.tracing")
+public record TailSamplingProperties(
+    @DefaultValue("true") boolean tailSampling,
+    @DefaultValue("0.05") double baseRate,
+    @DefaultValue("500ms") Duration slowThreshold,
+    @DefaultValue("10000") int maxTraces,
+    @DefaultValue("256") int maxSpansPerTrace,
+    @DefaultValue FileReporter file
+) {
+
+    public record FileReporter(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("traces/spans.jsonl") String path,
+        @DefaultValue("10000") int queueSize
+    ) {}
+}
@@ -0,0 +1,193 @@
+package com.rishabh.ecom.metrics;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Tail-based sampling: every span is recorded, but only whole traces worth keeping are exported.
+ * - Finished spans are buffered per local root (this process's part of a trace)
+ * - When the local root finishes, the trace is kept if any span errored or returned 5xx,
+ *   if it took at least the slow threshold, or if its trace id falls in the base rate;
+ *   the base-rate check depends only on the trace id, so every service keeps the same traces
+ * - Undecided traces live in a bounded ring; when it wraps, the oldest is dropped
+ * - Spans finishing after their trace was decided follow that decision
+ * - No locks: buffers live in a concurrent map keyed by local root, decisions and ring
+ *   slots are swapped with CAS
+ * Runs first among span handlers and returns false, so exporters only see kept traces.
+ * Publishes tracing.tail.traces tagged by decision.
+ */
+public class TailSamplingSpanHandler extends SpanHandler implements Ordered {
+
+    private enum Decision { PENDING, KEEP, DROP }
+
+    private record Finished(TraceContext context, MutableSpan span) {}
+
+    private static final class TraceBuffer {
+        final long localRootId;
+        final Queue<Finished> spans = new ConcurrentLinkedQueue<>();
+        final AtomicInteger buffered = new AtomicInteger();
+        final AtomicReference<Decision> decision = new AtomicReference<>(Decision.PENDING);
+        volatile boolean error;
+
+        TraceBuffer(long localRootId) {
+            this.localRootId = localRootId;
+        }
+    }
+
+    private final List<SpanHandler> exporters;
+    private final long baseRateBound;
+    private final long slowThresholdMicros;
+    private final int maxSpansPerTrace;
+    private final ConcurrentMap<Long, TraceBuffer> traces = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<TraceBuffer> ring;
+    private final AtomicLong next = new AtomicLong();
+
+    private final Counter keptError;
+    private final Counter keptSlow;
+    private final Counter keptBase;
+    private final Counter dropped;
+    private final Counter evicted;
+
+    public TailSamplingSpanHandler(List<SpanHandler> exporters, TailSamplingProperties properties, MeterRegistry registry) {
+        this.exporters = List.copyOf(exporters);
+        this.baseRateBound = (long) (Math.max(0, Math.min(1, properties.baseRate())) * 10_000);
+        this.slowThresholdMicros = TimeUnit.NANOSECONDS.toMicros(properties.slowThreshold().toNanos());
+        this.maxSpansPerTrace = properties.maxSpansPerTrace();
+        this.ring = new AtomicReferenceArray<>(properties.maxTraces());
+        this.keptError = decisionCounter(registry, "kept_error");
+        this.keptSlow = decisionCounter(registry, "kept_slow");
+        this.keptBase = decisionCounter(registry, "kept_base");
+        this.dropped = decisionCounter(registry, "dropped");
+        this.evicted = decisionCounter(registry, "evicted");
+    }
+
+    /**
+     * Lock-free: a span is queued first and the decision read after, while the local root
+     * sets the decision first and drains after, so every buffered span is either drained by
+     * the root or taken back by the thread that queued it, never both.
+     */
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause != Cause.FINISHED) {
+            return false;
+        }
+        TraceBuffer buffer = traces.get(context.localRootId());
+        if (buffer == null) {
+            buffer = open(context.localRootId());
+        }
+
+        Finished finished = new Finished(context, span);
+        Decision decision = buffer.decision.get();
+        if (decision == Decision.PENDING) {
+            if (isError(span)) {
+                buffer.error = true;
+            }
+            boolean queued = buffer.buffered.incrementAndGet() <= maxSpansPerTrace && buffer.spans.add(finished);
+            if (context.isLocalRoot()) {
+                decide(buffer, context, span);
+                return false;
+            }
+            decision = buffer.decision.get();
+            if (decision == Decision.PENDING || (queued && !buffer.spans.remove(finished))) {
+                // Still buffered, or the root's drain already took it
+                return false;
+            }
+        }
+        if (decision == Decision.KEEP) {
+            export(finished);
+        }
+        // Exporters further down the chain only receive spans through this handler
+        return false;
+    }
+
+    private void decide(TraceBuffer buffer, TraceContext root, MutableSpan span) {
+        Counter reason = reason(root, span, buffer.error);
+        Decision decision = reason == dropped ? Decision.DROP : Decision.KEEP;
+        if (!buffer.decision.compareAndSet(Decision.PENDING, decision)) {
+            // Evicted while the root was running; the eviction already counted it
+            buffer.spans.clear();
+            return;
+        }
+        reason.increment();
+        for (Finished finished; (finished = buffer.spans.poll()) != null; ) {
+            if (decision == Decision.KEEP) {
+                export(finished);
+            }
+        }
+    }
+
+    private void export(Finished finished) {
+        for (SpanHandler exporter : exporters) {
+            exporter.end(finished.context(), finished.span(), Cause.FINISHED);
+        }
+    }
+
+    private TraceBuffer open(long localRootId) {
+        TraceBuffer buffer = new TraceBuffer(localRootId);
+        TraceBuffer existing = traces.putIfAbsent(localRootId, buffer);
+        if (existing != null) {
+            return existing;
+        }
+        TraceBuffer oldest = ring.getAndSet((int) (next.getAndIncrement() % ring.length()), buffer);
+        if (oldest != null) {
+            traces.remove(oldest.localRootId, oldest);
+            if (oldest.decision.compareAndSet(Decision.PENDING, Decision.DROP)) {
+                oldest.spans.clear();
+                evicted.increment();
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * The counter for this trace's decision; dropped when nothing makes it worth keeping.
+     */
+    private Counter reason(TraceContext context, MutableSpan root, boolean error) {
+        if (error) {
+            return keptError;
+        }
+        if (root.finishTimestamp() - root.startTimestamp() >= slowThresholdMicros) {
+            return keptSlow;
+        }
+        // Same bucketing as Brave's BoundarySampler, so all services agree on the base sample
+        if (Math.abs(context.traceId() % 10_000) < baseRateBound) {
+            return keptBase;
+        }
+        return dropped;
+    }
+
+    private static boolean isError(MutableSpan span) {
+        if (span.error() != null || span.tag("error") != null || "SERVER_ERROR".equals(span.tag("outcome"))) {
+            return true;
+        }
+        String status = span.tag("http.status_code");
+        if (status == null) {
+            status = span.tag("status");
+        }
+        return status != null && status.startsWith("5");
+    }
+
+    private static Counter decisionCounter(MeterRegistry registry, String decision) {
+        return Counter.builder("tracing.tail.traces").tag("decision", decision).register(registry);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,65 @@
+package com.rishabh.ecom.product;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * A fully rendered response body in one content encoding, as stored by {@link ProductBodyCacheFilter}.
+ *
+ * @param encoding Content-Encoding of body, or null for identity
+ */
+public record CachedBody(String contentType, String etag, String encoding, byte[] body) {
+
+    /**
+     * Length-prefixed binary framing, so Redis holds the body bytes as-is with no JSON wrapping.
+     */
+    public static class Serializer implements RedisSerializer<CachedBody> {
+
+        private static final int VERSION = 1;
+
+        @Override
+        public byte[] serialize(CachedBody value) {
+            if (value == null) {
+                return null;
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(value.body().length + 64);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeByte(VERSION);
+                out.writeUTF(value.contentType());
+                out.writeUTF(value.etag() != null ? value.etag() : "");
+                out.writeUTF(value.encoding() != null ? value.encoding() : "");
+                out.writeInt(value.body().length);
+                out.write(value.body());
+            } catch (IOException e) {
+                throw new SerializationException("Could not write cached body", e);
+            }
+            return bytes.toByteArray();
+        }
+
+        @Override
+        public CachedBody deserialize(byte[] bytes) {
+            if (bytes == null) {
+                return null;
+            }
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+                if (in.readByte() != VERSION) {
+                    throw new SerializationException("Unknown cached body version");
+                }
+                String contentType = in.readUTF();
+                String etag = in.readUTF();
+                String encoding = in.readUTF();
+                byte[] body = new byte[in.readInt()];
+                in.readFully(body);
+                return new CachedBody(contentType, etag.isEmpty() ? null : etag, encoding.isEmpty() ? null : encoding, body);
+            } catch (IOException e) {
+                throw new SerializationException("Could not read cached body", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.rishabh.ecom.product;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Catalog-wide aggregates for GET /api/v1/products/stats, answered without touching MySQL.
+ * - ProductService applies every create/update/delete as a delta once its transaction commits
+ * - Deltas land in LongAdders, so concurrent writers don't contend on a single counter
+ * - A full aggregate query (at startup, every app.products.stats.recompute-interval and after
+ *   bulk changes) replaces the totals and corrects drift, e.g. from writes outside the app
+ * - Deltas committed while that query runs are carried into the new totals; one the query
+ *   already saw is counted twice until the next recompute
+ */
+@Component
+public class CatalogStats {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogStats.class);
+
+    private static final String AGGREGATE_SQL = """
+        SELECT COUNT(*), COALESCE(SUM(stock_qty), 0), COALESCE(SUM(price * stock_qty), 0),
+               COALESCE(SUM(CASE WHEN stock_qty <= 0 THEN 1 ELSE 0 END), 0)
+        FROM products""";
+
+    public record Snapshot(
+        long productCount,
+        long totalStockUnits,
+        BigDecimal inventoryValue,
+        long outOfStockCount,
+        Instant recomputedAt
+    ) {}
+
+    private static final class Accumulators {
+        final LongAdder products = new LongAdder();
+        final LongAdder stockUnits = new LongAdder();
+        final LongAdder valueCents = new LongAdder();
+        final LongAdder outOfStock = new LongAdder();
+
+        void add(long products, long stockUnits, long valueCents, long outOfStock) {
+            this.products.add(products);
+            this.stockUnits.add(stockUnits);
+            this.valueCents.add(valueCents);
+            this.outOfStock.add(outOfStock);
+        }
+    }
+
+    /** Totals from the last recompute plus the deltas committed since. */
+    private record State(long products, long stockUnits, long valueCents, long outOfStock,
+                         Instant recomputedAt, Accumulators deltas) {}
+
+    private final JdbcTemplate jdbc;
+    private volatile State state = new State(0, 0, 0, 0, null, new Accumulators());
+    private volatile Accumulators recording;
+
+    public CatalogStats(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public Snapshot snapshot() {
+        State current = state;
+        Accumulators deltas = current.deltas();
+        return new Snapshot(
+            current.products() + deltas.products.sum(),
+            current.stockUnits() + deltas.stockUnits.sum(),
+            BigDecimal.valueOf(current.valueCents() + deltas.valueCents.sum(), 2),
+            current.outOfStock() + deltas.outOfStock.sum(),
+            current.recomputedAt());
+    }
+
+    public void created(BigDecimal price, int stockQty) {
+        afterCommit(1, stockQty, cents(price, stockQty), stockQty <= 0 ? 1 : 0);
+    }
+
+    public void updated(BigDecimal oldPrice, int oldStockQty, BigDecimal newPrice, int newStockQty) {
+        afterCommit(0, (long) newStockQty - oldStockQty,
+            cents(newPrice, newStockQty) - cents(oldPrice, oldStockQty),
+            (newStockQty <= 0 ? 1 : 0) - (oldStockQty <= 0 ? 1 : 0));
+    }
+
+    public void deleted(BigDecimal price, int stockQty) {
+        afterCommit(-1, -stockQty, -cents(price, stockQty), stockQty <= 0 ? -1 : 0);
+    }
+
+    @Scheduled(fixedDelayString = "${app.products.stats.recompute-interval:PT5M}")
+    public synchronized void recompute() {
+        Accumulators since = new Accumulators();
+        recording = since;
+        try {
+            state = jdbc.queryForObject(AGGREGATE_SQL, (rs, row) -> new State(
+                rs.getLong(1),
+                rs.getLong(2),
+                rs.getBigDecimal(3).movePointRight(2).longValue(),
+                rs.getLong(4),
+                Instant.now(),
+                since));
+        } catch (DataAccessException e) {
+            // Deltas recorded meanwhile also went to the current state, nothing is lost
+            log.warn("Catalog stats recompute failed, keeping incremental totals: {}", e.getMessage());
+        } finally {
+            recording = null;
+        }
+    }
+
+    private void afterCommit(long products, long stockUnits, long valueCents, long outOfStock) {
+        Runnable apply = () -> {
+            // Read recording first: if it is still null, this commit predates the recompute
+            // query, so a delta that only reaches the replaced state is already in the new totals
+            Accumulators pending = recording;
+            State current = state;
+            current.deltas().add(products, stockUnits, valueCents, outOfStock);
+            if (pending != null && pending != current.deltas()) {
+                pending.add(products, stockUnits, valueCents, outOfStock);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    private static long cents(BigDecimal price, long stockQty) {
+        return price.movePointRight(2).longValue() * stockQty;
+    }
+}
@@ -15,7 +15,8 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @EntityListeners(AuditingEntityListener.class)
 @Table(name = "products", indexes = {
     @Index(name = "idx_products_sku", columnList = "sku", unique = true),
-    @Index(name = "idx_products_name", columnList = "name")
+    @Index(name = "idx_products_name", columnList = "name"),
+    @Index(name = "idx_products_updated_at_id", columnList = "updated_at, id")
 })
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Product {
@@ -0,0 +1,229 @@
+package com.rishabh.ecom.product;
+
+import com.rishabh.ecom.common.DeadlineExceededException;
+import com.rishabh.ecom.common.RequestDeadline;
+import com.rishabh.ecom.db.ReadConsistency;
+import com.rishabh.ecom.metrics.RequestMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * DataLoader-style batching of product-by-id cache misses.
+ * - Misses arriving within app.products.batch.window are collected into one batch
+ * - A batch is dispatched early once it reaches app.products.batch.max-size
+ * - Each batch is one read-only findAllById (WHERE id IN (...)) on one pooled connection;
+ *   results are fanned back out to every waiting caller, duplicates included
+ * - The strictest X-Consistency-Token among the callers applies to the whole batch, so
+ *   read-your-writes still holds when the query runs on a dispatcher thread
+ * - The query runs under the latest request deadline in the batch; each caller stops
+ *   waiting at its own deadline
+ * - Statements the batch issues are counted on every caller's request timer (db_queries)
+ * - product.batch.size records the batch-size distribution
+ * - The pending list is guarded by a ReentrantLock, not a monitor: scheduling and cancelling
+ *   the flush can park on the executor's queue lock, which would pin a virtual thread's carrier
+ */
+@Component
+public class ProductBatchLoader {
+
+    private record Pending(Long id, Long requiredFreshness, Long deadline, RequestMetrics.Context metrics,
+                           CompletableFuture<Optional<Product>> result) {}
+
+    private final ProductRepository repo;
+    private final TransactionTemplate readOnlyTx;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService dispatcher;
+    private final DistributionSummary batchSize;
+    private final Counter windowDispatches;
+    private final Counter fullDispatches;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<Pending> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public ProductBatchLoader(
+        ProductRepository repo,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry registry,
+        @Value("${app.products.batch.window:2ms}") Duration window,
+        @Value("${app.products.batch.max-size:100}") int maxBatchSize,
+        @Value("${app.products.batch.dispatch-threads:4}") int dispatchThreads
+    ) {
+        this.repo = repo;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        AtomicInteger threadIds = new AtomicInteger();
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(dispatchThreads, task -> {
+            Thread thread = new Thread(task, "product-batch-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        this.dispatcher = executor;
+        this.batchSize = DistributionSummary.builder("product.batch.size")
+            .description("Ids resolved per findAllById batch")
+            .publishPercentileHistogram()
+            .register(registry);
+        this.windowDispatches = Counter.builder("product.batch.dispatches").tag("trigger", "window").register(registry);
+        this.fullDispatches = Counter.builder("product.batch.dispatches").tag("trigger", "full").register(registry);
+    }
+
+    /**
+     * Blocks until the batch holding this id has been loaded, or the request deadline passes.
+     */
+    public Optional<Product> load(Long id) {
+        return await(id, loadAsync(id));
+    }
+
+    /**
+     * Queues every id before waiting, so they share batches instead of one window each.
+     * Ids without a product are left out of the result.
+     */
+    public Map<Long, Product> loadAll(Collection<Long> ids) {
+        Map<Long, CompletableFuture<Optional<Product>>> results = new LinkedHashMap<>();
+        for (Long id : ids) {
+            results.computeIfAbsent(id, this::loadAsync);
+        }
+        Map<Long, Product> found = new HashMap<>();
+        results.forEach((id, result) -> await(id, result).ifPresent(product -> found.put(id, product)));
+        return found;
+    }
+
+    private static Optional<Product> await(Long id, CompletableFuture<Optional<Product>> result) {
+        long remaining = RequestDeadline.remainingNanos();
+        try {
+            return remaining == Long.MAX_VALUE ? result.join() : result.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for product " + id, e);
+        } catch (CompletionException | ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public CompletableFuture<Optional<Product>> loadAsync(Long id) {
+        Pending request = new Pending(id, ReadConsistency.requiredFreshness(), RequestDeadline.current(),
+            RequestMetrics.current(), new CompletableFuture<>());
+        List<Pending> full = null;
+        lock.lock();
+        try {
+            pending.add(request);
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = dispatcher.schedule(this::flushWindow, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            // The caller would wait for this batch anyway, so it runs the query itself
+            fullDispatches.increment();
+            dispatch(full);
+        }
+        return request.result();
+    }
+
+    private void flushWindow() {
+        List<Pending> batch;
+        lock.lock();
+        try {
+            scheduledFlush = null;
+            batch = takePending();
+        } finally {
+            lock.unlock();
+        }
+        if (!batch.isEmpty()) {
+            windowDispatches.increment();
+            dispatch(batch);
+        }
+    }
+
+    /**
+     * Must hold lock.
+     */
+    private List<Pending> takePending() {
+        List<Pending> batch = pending;
+        pending = new ArrayList<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(List<Pending> batch) {
+        Set<Long> ids = new LinkedHashSet<>();
+        List<RequestMetrics.Context> callers = new ArrayList<>(batch.size());
+        Long freshness = null;
+        Long deadline = null;
+        boolean unbounded = false;
+        for (Pending p : batch) {
+            ids.add(p.id());
+            callers.add(p.metrics());
+            if (p.deadline() == null) {
+                unbounded = true;
+            } else if (deadline == null || p.deadline() - deadline > 0) {
+                deadline = p.deadline();
+            }
+            if (p.requiredFreshness() != null && (freshness == null || p.requiredFreshness() > freshness)) {
+                freshness = p.requiredFreshness();
+            }
+        }
+        batchSize.record(ids.size());
+        Long callerFreshness = ReadConsistency.requiredFreshness();
+        Long callerDeadline = RequestDeadline.current();
+        ReadConsistency.requireFreshAsOf(freshness);
+        RequestDeadline.set(unbounded ? null : deadline);
+        try {
+            Map<Long, Product> found = new HashMap<>();
+            RequestMetrics.runOnBehalfOf(callers, () -> readOnlyTx.executeWithoutResult(
+                status -> repo.findAllById(ids).forEach(p -> found.put(p.getId(), p))));
+            batch.forEach(p -> p.result().complete(Optional.ofNullable(found.get(p.id()))));
+        } catch (RuntimeException e) {
+            batch.forEach(p -> p.result().completeExceptionally(e));
+        } finally {
+            ReadConsistency.requireFreshAsOf(callerFreshness);
+            RequestDeadline.set(callerDeadline);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdown();
+    }
+}
@@ -0,0 +1,218 @@
+package com.rishabh.ecom.product;
+
+import com.rishabh.ecom.db.ReadConsistency;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves product GETs (search and get-by-id) from fully encoded response bytes.
+ *
+ * - Key: Accept-Encoding variant + path + query parameters sorted by name
+ * - Hit: bytes are written straight to the servlet stream; no Redis JSON mapping and no Jackson
+ * - Miss: the controller response is captured once and stored raw and gzip-compressed
+ * - Only 200 JSON responses are stored; entries live in the "productBodies" cache, evicted with
+ *   the other product caches on every write
+ * - Requests carrying a consistency token bypass the cache so they observe their own write
+ * - Only JSON is cached; clients preferring CBOR/Smile go straight to the controller
+ * - Get-by-id hits still count as product views, as the controller would have
+ */
+public class ProductBodyCacheFilter extends OncePerRequestFilter {
+
+    public static final String CACHE = "productBodies";
+
+    private static final Logger log = LoggerFactory.getLogger(ProductBodyCacheFilter.class);
+    private static final Pattern CACHEABLE_PATH = Pattern.compile("/api/v1/products(/\\d+)?");
+    private static final String BY_ID_PREFIX = "/api/v1/products/";
+    private static final String GZIP = "gzip";
+
+    private final Cache cache;
+    private final int minGzipBytes;
+    private final ProductViewCounter views;
+
+    public ProductBodyCacheFilter(Cache cache, int minGzipBytes, ProductViewCounter views) {
+        this.cache = cache;
+        this.minGzipBytes = minGzipBytes;
+        this.views = views;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod())
+            || !CACHEABLE_PATH.matcher(request.getRequestURI()).matches()
+            || request.getHeader(ReadConsistency.HEADER) != null
+            || !prefersJson(request.getHeader(HttpHeaders.ACCEPT));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acceptsGzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String canonical = canonicalRequest(request);
+
+        CachedBody hit = read(variantKey(acceptsGzip, canonical));
+        if (hit != null) {
+            String path = request.getRequestURI();
+            boolean byId = path.startsWith(BY_ID_PREFIX);
+            // No handler runs on a hit; expose the route so request metrics still tag it
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                byId ? "/api/v1/products/{id}" : "/api/v1/products");
+            if (byId) {
+                views.record(Long.parseLong(path.substring(BY_ID_PREFIX.length())));
+            }
+            write(request, response, hit);
+            return;
+        }
+
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, captured);
+
+        String contentType = captured.getContentType();
+        if (captured.getStatus() != HttpServletResponse.SC_OK || contentType == null
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            captured.copyBodyToResponse();
+            return;
+        }
+
+        byte[] raw = captured.getContentAsByteArray();
+        String etag = captured.getHeader(HttpHeaders.ETAG);
+        CachedBody identity = new CachedBody(contentType, etag, null, raw);
+        CachedBody gzipped = raw.length >= minGzipBytes ? new CachedBody(contentType, etag, GZIP, gzip(raw)) : identity;
+        store(variantKey(false, canonical), identity);
+        store(variantKey(true, canonical), gzipped);
+
+        // The body was buffered; reset it and send the variant this client asked for
+        captured.resetBuffer();
+        write(request, response, acceptsGzip ? gzipped : identity);
+    }
+
+    private static void write(HttpServletRequest request, HttpServletResponse response, CachedBody body) throws IOException {
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (body.etag() != null) {
+            response.setHeader(HttpHeaders.ETAG, body.etag());
+            if (body.etag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(body.contentType());
+        if (body.encoding() != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, body.encoding());
+        }
+        response.setContentLength(body.body().length);
+        response.getOutputStream().write(body.body());
+    }
+
+    private CachedBody read(String key) {
+        try {
+            return cache.get(key, CachedBody.class);
+        } catch (RuntimeException e) {
+            log.warn("Response cache read failed for {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void store(String key, CachedBody body) {
+        try {
+            cache.put(key, body);
+        } catch (RuntimeException e) {
+            log.warn("Response cache write failed for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static String variantKey(boolean gzip, String canonical) {
+        return (gzip ? GZIP : "identity") + ":" + canonical;
+    }
+
+    /**
+     * Path plus parameters sorted by name, so ?size=20&page=0 and ?page=0&size=20 share an entry.
+     */
+    static String canonicalRequest(HttpServletRequest request) {
+        Map<String, String[]> sorted = new TreeMap<>(request.getParameterMap());
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        char separator = '?';
+        for (Map.Entry<String, String[]> entry : sorted.entrySet()) {
+            for (String value : entry.getValue()) {
+                key.append(separator)
+                    .append(URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8))
+                    .append('=')
+                    .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    static boolean prefersJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            List<MediaType> types = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(types);
+            types.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+            return !types.isEmpty() && types.get(0).isCompatibleWith(MediaType.APPLICATION_JSON);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] coding = part.trim().split(";");
+            String name = coding[0].trim();
+            if (name.equalsIgnoreCase(GZIP) || name.equals("*")) {
+                return coding.length == 1 || quality(coding[1]) > 0;
+            }
+        }
+        return false;
+    }
+
+    private static double quality(String parameter) {
+        String value = parameter.trim();
+        if (!value.startsWith("q=")) {
+            return 1;
+        }
+        try {
+            return Double.parseDouble(value.substring(2));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static byte[] gzip(byte[] raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+        // Compressed once per miss and served many times, so spend CPU on ratio
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}) {
+            gzip.write(raw);
+        }
+        return out.toByteArray();
+    }
+}
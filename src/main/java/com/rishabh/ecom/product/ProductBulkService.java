@@ -0,0 +1,252 @@
+package com.rishabh.ecom.product;
+
+import com.rishabh.ecom.product.dto.ProductDtos;
+import com.rishabh.ecom.product.dto.ProductDtos.BulkItemResult;
+import com.rishabh.ecom.product.dto.ProductDtos.BulkStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Bulk field-level updates and deletes addressed by id or sku.
+ * - Each chunk runs in one transaction: one id/sku lookup, then one JDBC batch per
+ *   distinct set of changed columns (or a single DELETE ... IN) instead of a
+ *   SELECT + full-row UPDATE per product
+ * - Caches are invalidated once per committed chunk, not once per product
+ * - Catalog stats are recomputed once per request rather than tracked per row
+ * - Deletes write their change-feed tombstones in the same chunk transaction
+ * - Every item gets a result; a missing product does not fail the rest of its chunk
+ * - A product referenced more than once in one delete counts as deleted once
+ */
+@Service
+public class ProductBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductBulkService.class);
+    private static final String[] LIST_CACHES = {"products", "productFields", ProductBodyCacheFilter.CACHE};
+
+    private record Ref(Long id, String sku) {}
+
+    private record Resolved(Map<Long, String> skuById, Map<String, Long> idBySku) {
+
+        /**
+         * @return the product id, or null if it doesn't exist or id and sku disagree
+         */
+        Long find(Long id, String sku) {
+            if (id != null) {
+                String actualSku = skuById.get(id);
+                return actualSku != null && (sku == null || sku.equals(actualSku)) ? id : null;
+            }
+            return idBySku.get(sku);
+        }
+
+        boolean conflicting(Long id, String sku) {
+            return id != null && sku != null && skuById.containsKey(id) && !sku.equals(skuById.get(id));
+        }
+    }
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final CatalogStats stats;
+    private final ProductChangeFeed changeFeed;
+    private final int chunkSize;
+    private final int maxItems;
+
+    public ProductBulkService(
+        NamedParameterJdbcTemplate jdbc,
+        TransactionTemplate transactionTemplate,
+        CacheManager cacheManager,
+        CatalogStats stats,
+        ProductChangeFeed changeFeed,
+        @Value("${app.products.bulk.chunk-size:500}") int chunkSize,
+        @Value("${app.products.bulk.max-items:50000}") int maxItems
+    ) {
+        this.jdbc = jdbc;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheManager = cacheManager;
+        this.stats = stats;
+        this.changeFeed = changeFeed;
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    public ProductDtos.BulkResult patch(List<ProductDtos.PatchItem> items) {
+        checkSize(items.size());
+        List<BulkItemResult> results = new ArrayList<>(items.size());
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            results.addAll(patchChunk(items.subList(from, Math.min(from + chunkSize, items.size()))));
+        }
+        stats.recompute();
+        return ProductDtos.BulkResult.of(results);
+    }
+
+    public ProductDtos.BulkResult delete(ProductDtos.BulkDelete request) {
+        List<Ref> refs = new ArrayList<>();
+        if (request.ids() != null) {
+            request.ids().forEach(id -> refs.add(new Ref(id, null)));
+        }
+        if (request.skus() != null) {
+            request.skus().forEach(sku -> refs.add(new Ref(null, sku)));
+        }
+        if (refs.isEmpty()) {
+            throw new IllegalArgumentException("ids or skus must not be empty");
+        }
+        checkSize(refs.size());
+        List<BulkItemResult> results = new ArrayList<>(refs.size());
+        for (int from = 0; from < refs.size(); from += chunkSize) {
+            results.addAll(deleteChunk(refs.subList(from, Math.min(from + chunkSize, refs.size()))));
+        }
+        stats.recompute();
+        return ProductDtos.BulkResult.of(results);
+    }
+
+    private List<BulkItemResult> patchChunk(List<ProductDtos.PatchItem> chunk) {
+        BulkItemResult[] results = new BulkItemResult[chunk.size()];
+        Set<Long> touched = new HashSet<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Resolved resolved = resolve(chunk.stream().map(item -> new Ref(item.id(), item.sku())).toList());
+            Timestamp now = Timestamp.from(Instant.now());
+            // One batched statement per distinct set of changed columns
+            Map<String, List<Object[]>> batches = new LinkedHashMap<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                ProductDtos.PatchItem item = chunk.get(i);
+                if (item.id() == null && item.sku() == null) {
+                    results[i] = new BulkItemResult(null, null, BulkStatus.INVALID, "id or sku is required");
+                    continue;
+                }
+                if (resolved.conflicting(item.id(), item.sku())) {
+                    results[i] = new BulkItemResult(item.id(), item.sku(), BulkStatus.INVALID, "id and sku refer to different products");
+                    continue;
+                }
+                Long id = resolved.find(item.id(), item.sku());
+                if (id == null) {
+                    results[i] = new BulkItemResult(item.id(), item.sku(), BulkStatus.NOT_FOUND, null);
+                    continue;
+                }
+                List<String> columns = new ArrayList<>(4);
+                List<Object> args = new ArrayList<>(6);
+                addIfSet(columns, args, "name", item.name());
+                addIfSet(columns, args, "description", item.description());
+                addIfSet(columns, args, "price", item.price());
+                addIfSet(columns, args, "stock_qty", item.stockQty());
+                if (columns.isEmpty()) {
+                    results[i] = new BulkItemResult(id, resolved.skuById().get(id), BulkStatus.INVALID, "no fields to update");
+                    continue;
+                }
+                args.add(now);
+                args.add(id);
+                String sql = "UPDATE products SET " + String.join(" = ?, ", columns) + " = ?, updated_at = ? WHERE id = ?";
+                batches.computeIfAbsent(sql, k -> new ArrayList<>()).add(args.toArray());
+                results[i] = new BulkItemResult(id, resolved.skuById().get(id), BulkStatus.UPDATED, null);
+                touched.add(id);
+            }
+            batches.forEach((sql, batch) -> jdbc.getJdbcTemplate().batchUpdate(sql, batch));
+        });
+        invalidate(touched);
+        return Arrays.asList(results);
+    }
+
+    private List<BulkItemResult> deleteChunk(List<Ref> chunk) {
+        BulkItemResult[] results = new BulkItemResult[chunk.size()];
+        Set<Long> touched = new HashSet<>();
+        Set<String> deletedSkus = new HashSet<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Resolved resolved = resolve(chunk);
+            for (int i = 0; i < chunk.size(); i++) {
+                Ref ref = chunk.get(i);
+                Long id = ref.id() == null && ref.sku() == null ? null : resolved.find(ref.id(), ref.sku());
+                // A product named twice (by id and sku, or repeated) is deleted once; the repeat is not found
+                if (id == null || touched.contains(id)) {
+                    results[i] = new BulkItemResult(ref.id(), ref.sku(), BulkStatus.NOT_FOUND, null);
+                } else {
+                    results[i] = new BulkItemResult(id, resolved.skuById().get(id), BulkStatus.DELETED, null);
+                    touched.add(id);
+                    deletedSkus.add(resolved.skuById().get(id));
+                }
+            }
+            if (!touched.isEmpty()) {
+                jdbc.update("DELETE FROM products WHERE id IN (:ids)", Map.of("ids", touched));
+                Map<Long, String> tombstones = new HashMap<>();
+                touched.forEach(id -> tombstones.put(id, resolved.skuById().get(id)));
+                changeFeed.deleted(tombstones);
+            }
+        });
+        invalidate(touched);
+        Cache idBySku = cacheManager.getCache(ProductSkuService.CACHE);
+        if (idBySku != null) {
+            deletedSkus.forEach(idBySku::evict);
+        }
+        return Arrays.asList(results);
+    }
+
+    private Resolved resolve(List<Ref> refs) {
+        List<Long> ids = refs.stream().map(Ref::id).filter(Objects::nonNull).distinct().toList();
+        List<String> skus = refs.stream().map(Ref::sku).filter(Objects::nonNull).distinct().toList();
+        Map<Long, String> skuById = new HashMap<>();
+        Map<String, Long> idBySku = new HashMap<>();
+        if (!ids.isEmpty()) {
+            jdbc.query("SELECT id, sku FROM products WHERE id IN (:ids)", Map.of("ids", ids), rs -> {
+                skuById.put(rs.getLong(1), rs.getString(2));
+                idBySku.put(rs.getString(2), rs.getLong(1));
+            });
+        }
+        if (!skus.isEmpty()) {
+            jdbc.query("SELECT id, sku FROM products WHERE sku IN (:skus)", Map.of("skus", skus), rs -> {
+                skuById.put(rs.getLong(1), rs.getString(2));
+                idBySku.put(rs.getString(2), rs.getLong(1));
+            });
+        }
+        return new Resolved(skuById, idBySku);
+    }
+
+    /**
+     * Runs after the chunk committed: list-shaped caches are cleared once, by-id entries
+     * are evicted only for the products this chunk touched.
+     */
+    private void invalidate(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (String name : LIST_CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        Cache byId = cacheManager.getCache("productById");
+        if (byId != null) {
+            ids.forEach(byId::evict);
+        }
+        log.info("Cache invalidated after bulk chunk - {} products", ids.size());
+    }
+
+    private void checkSize(int size) {
+        if (size > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " items per request");
+        }
+    }
+
+    private static void addIfSet(List<String> columns, List<Object> args, String column, Object value) {
+        if (value != null) {
+            columns.add(column);
+            args.add(value);
+        }
+    }
+}
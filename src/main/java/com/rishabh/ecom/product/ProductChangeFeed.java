@@ -0,0 +1,187 @@
+package com.rishabh.ecom.product;
+
+import com.rishabh.ecom.product.dto.ProductDtos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Change feed for incremental catalog sync (GET /api/v1/products/changes).
+ * - Two keyset streams: products by (updated_at, id) and tombstones by (deleted_at, product_id),
+ *   each read from its index, so a sync costs what changed rather than the catalog size
+ * - The token is both cursors; once a stream is drained its cursor jumps to the scan's upper
+ *   bound, so an idle catalog doesn't leave tokens pointing at old rows
+ * - Only rows older than app.products.changes.settle are returned: a transaction that stamped
+ *   updated_at but hadn't committed when the scan ran can't be skipped, as long as it commits
+ *   (and reaches a replica) within settle
+ * - Deletes write a tombstone in the same transaction; tombstones are purged after
+ *   tombstone-retention, and older tokens get 409 so the client resyncs from scratch
+ */
+@Service
+public class ProductChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductChangeFeed.class);
+    private static final int PURGE_BATCH = 10_000;
+
+    /** Position in one stream: every row at or before (at, id) has been returned. */
+    record Cursor(Instant at, long id) {}
+
+    record Token(Cursor products, Cursor tombstones) {
+
+        String encode() {
+            String raw = products.at().toEpochMilli() + "." + products.id() + "."
+                + tombstones.at().toEpochMilli() + "." + tombstones.id();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        static Token decode(String token) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII).split("\\.");
+                if (parts.length != 4) {
+                    throw new IllegalArgumentException("Invalid sync token");
+                }
+                return new Token(
+                    new Cursor(Instant.ofEpochMilli(Long.parseLong(parts[0])), Long.parseLong(parts[1])),
+                    new Cursor(Instant.ofEpochMilli(Long.parseLong(parts[2])), Long.parseLong(parts[3])));
+            } catch (IllegalArgumentException | DateTimeException e) {
+                // Also covers bad Base64, NumberFormatException and out-of-range instants
+                throw new IllegalArgumentException("Invalid sync token", e);
+            }
+        }
+    }
+
+    private record Page<T>(List<T> rows, Cursor next, boolean hasMore) {}
+
+    private static final RowMapper<Product> PRODUCT = (rs, rowNum) -> Product.builder()
+        .id(rs.getLong("id"))
+        .sku(rs.getString("sku"))
+        .name(rs.getString("name"))
+        .description(rs.getString("description"))
+        .price(rs.getBigDecimal("price"))
+        .stockQty(rs.getInt("stock_qty"))
+        .createdAt(rs.getTimestamp("created_at").toInstant())
+        .updatedAt(rs.getTimestamp("updated_at").toInstant())
+        .build();
+
+    private static final RowMapper<ProductDtos.Tombstone> TOMBSTONE = (rs, rowNum) -> new ProductDtos.Tombstone(
+        rs.getLong("product_id"), rs.getString("sku"), rs.getTimestamp("deleted_at").toInstant());
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final Duration settle;
+    private final Duration tombstoneRetention;
+    private final int maxPageSize;
+
+    public ProductChangeFeed(
+        NamedParameterJdbcTemplate jdbc,
+        @Value("${app.products.changes.settle:PT10S}") Duration settle,
+        @Value("${app.products.changes.tombstone-retention:P7D}") Duration tombstoneRetention,
+        @Value("${app.products.changes.max-page-size:1000}") int maxPageSize
+    ) {
+        this.jdbc = jdbc;
+        this.settle = settle;
+        this.tombstoneRetention = tombstoneRetention;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * @param since token from a previous page, or null to start with the whole catalog
+     */
+    @Transactional(readOnly = true)
+    public ProductDtos.Changes changes(String since, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), maxPageSize);
+        Instant now = Instant.now();
+        Instant until = now.minus(settle);
+        Token token;
+        if (since == null || since.isBlank()) {
+            // A fresh client has nothing to delete: start the tombstone stream now
+            token = new Token(new Cursor(Instant.EPOCH, 0), new Cursor(until, 0));
+        } else {
+            token = Token.decode(since);
+            if (token.tombstones().at().isBefore(now.minus(tombstoneRetention))) {
+                throw new IllegalStateException("Sync token is older than the tombstone retention; resync without since");
+            }
+        }
+
+        Page<Product> updated = page("products", "updated_at", "id",
+            "id, sku, name, description, price, stock_qty, created_at, updated_at",
+            token.products(), until, pageSize, PRODUCT, product -> new Cursor(product.getUpdatedAt(), product.getId()));
+        Page<ProductDtos.Tombstone> deleted = page("product_tombstones", "deleted_at", "product_id",
+            "product_id, sku, deleted_at",
+            token.tombstones(), until, pageSize, TOMBSTONE, tombstone -> new Cursor(tombstone.deletedAt(), tombstone.id()));
+
+        String next = new Token(updated.next(), deleted.next()).encode();
+        return new ProductDtos.Changes(updated.rows(), deleted.rows(), next, updated.hasMore() || deleted.hasMore());
+    }
+
+    /**
+     * Call inside the deleting transaction, so the tombstone commits or rolls back with the delete.
+     * Upserts: ids come back after products' AUTO_INCREMENT is reset (e.g. a loadtest --truncate).
+     */
+    public void deleted(Map<Long, String> skuById) {
+        if (skuById.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> batch = new ArrayList<>(skuById.size());
+        skuById.forEach((id, sku) -> batch.add(new Object[]{id, sku, now}));
+        jdbc.getJdbcTemplate().batchUpdate(
+            "INSERT INTO product_tombstones (product_id, sku, deleted_at) VALUES (?, ?, ?)"
+                + " ON DUPLICATE KEY UPDATE sku = VALUES(sku), deleted_at = VALUES(deleted_at)", batch);
+    }
+
+    @Scheduled(fixedDelayString = "${app.products.changes.purge-interval:PT1H}")
+    public void purgeTombstones() {
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(tombstoneRetention));
+        long purged = 0;
+        int batch;
+        // Bounded batches keep each delete's locks and undo log small
+        do {
+            batch = jdbc.getJdbcTemplate().update(
+                "DELETE FROM product_tombstones WHERE deleted_at < ? LIMIT " + PURGE_BATCH, cutoff);
+            purged += batch;
+        } while (batch == PURGE_BATCH);
+        if (purged > 0) {
+            log.info("Purged {} product tombstones older than {}", purged, tombstoneRetention);
+        }
+    }
+
+    /**
+     * Keyset page after the cursor and before until. The leading range predicate on the first
+     * column is what lets MySQL walk the (column, id) index instead of evaluating the OR per row.
+     */
+    private <T> Page<T> page(String table, String timeColumn, String idColumn, String columns, Cursor after,
+                             Instant until, int pageSize, RowMapper<T> mapper,
+                             Function<T, Cursor> cursorOf) {
+        String sql = "SELECT " + columns + " FROM " + table
+            + " WHERE " + timeColumn + " >= :at AND (" + timeColumn + " > :at OR " + idColumn + " > :id)"
+            + " AND " + timeColumn + " < :until"
+            + " ORDER BY " + timeColumn + ", " + idColumn + " LIMIT " + (pageSize + 1);
+        List<T> rows = jdbc.query(sql, Map.of(
+            "at", Timestamp.from(after.at()),
+            "id", after.id(),
+            "until", Timestamp.from(until)), mapper);
+        if (rows.size() > pageSize) {
+            List<T> page = rows.subList(0, pageSize);
+            return new Page<>(page, cursorOf.apply(page.get(pageSize - 1)), true);
+        }
+        // Drained up to until: everything before it has been seen
+        Cursor next = until.isAfter(after.at()) ? new Cursor(until, 0) : after;
+        return new Page<>(rows, next, false);
+    }
+}
@@ -1,12 +1,14 @@
 package com.rishabh.ecom.product;
 
+import com.rishabh.ecom.config.BinaryFormatsConfig;
+import com.rishabh.ecom.db.ReadConsistency;
 import com.rishabh.ecom.product.dto.ProductDtos;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -14,23 +16,39 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Tag(name = "Products", description = "Product management endpoints with caching and ETag support")
 @SecurityRequirement(name = "bearer-jwt")
 @RestController
-@RequestMapping(path = "/api/v1/products", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(path = "/api/v1/products", produces = {
+        MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.SMILE_VALUE
+})
 public class ProductController {
 
     private final ProductService service;
+    private final ProductBulkService bulkService;
+    private final ProductSkuService skuService;
+    private final ProductViewCounter views;
+    private final ProductChangeFeed changeFeed;
 
-    public ProductController(ProductService service) {
+    public ProductController(ProductService service, ProductBulkService bulkService, ProductSkuService skuService,
+                             ProductViewCounter views, ProductChangeFeed changeFeed) {
         this.service = service;
+        this.bulkService = bulkService;
+        this.skuService = skuService;
+        this.views = views;
+        this.changeFeed = changeFeed;
     }
 
-    @Operation(summary = "Search products", description = "Returns paginated products with caching. Supports search query, pagination, and sorting.")
+    @Operation(summary = "Search products", description = "Returns paginated product summaries (id, sku, name, price, stockQty) with caching. Supports search query, pagination, and sorting.")
     @GetMapping
-    public Page<Product> search(
+    public ProductDtos.PageResponse<ProductDtos.Summary> search(
             @Parameter(description = "Search query (filters by SKU or name)")
             @RequestParam(required = false) String q,
             @Parameter(description = "Page number (0-indexed)")
@@ -47,6 +65,78 @@ public class ProductController {
         return service.search(q, page, size, sortBy, order);
     }
 
+    @Operation(
+        summary = "Search products (sparse fieldset)",
+        description = "Same as search, but each row holds only the comma-separated fields requested, e.g. fields=id,name,price."
+    )
+    @GetMapping(params = "fields", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> searchFields(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String order,
+            @Parameter(description = "Fields to include: id,name,description,price,sku,stockQty,createdAt,updatedAt")
+            @RequestParam String fields
+    ) {
+        String json = service.searchFields(q, page, size, sortBy, order, ProductFieldSet.parse(fields));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json);
+    }
+
+    @Operation(
+        summary = "Catalog statistics",
+        description = "Product count, total stock units, inventory value (sum of price * stockQty) and out-of-stock count. " +
+                      "Maintained incrementally on every write and fully recomputed periodically; answers without a query."
+    )
+    @GetMapping("/stats")
+    public CatalogStats.Snapshot stats() {
+        return service.stats();
+    }
+
+    @Operation(
+        summary = "Catalog changes",
+        description = "Products created or updated and tombstones for products deleted since the token, in " +
+                     "(updated_at, id) order. Omit since for the first sync; pass the returned next token to resume, " +
+                     "and keep paging while hasMore is true. Tokens older than the tombstone retention get 409."
+    )
+    @GetMapping("/changes")
+    public ProductDtos.Changes changes(
+            @Parameter(description = "Token from the previous response (next)")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Max products and max tombstones per page (max 1000)")
+            @RequestParam(defaultValue = "500") int limit
+    ) {
+        return changeFeed.changes(since, limit);
+    }
+
+    @Operation(
+        summary = "Trending products",
+        description = "Most viewed products over the last `minutes` (default 60, capped at app.products.trending.max-window), " +
+                     "merged across all instances. Counts lag by up to the flush interval."
+    )
+    @GetMapping("/trending")
+    public List<ProductDtos.Trending> trending(
+            @Parameter(description = "Sliding window in minutes")
+            @RequestParam(defaultValue = "60") int minutes,
+            @Parameter(description = "Number of products (max 100)")
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        Map<Long, Long> viewsById = new LinkedHashMap<>();
+        for (ProductViewCounter.Ranked ranked : views.top(Duration.ofMinutes(minutes), limit)) {
+            viewsById.put(ranked.productId(), ranked.views());
+        }
+        // One batch through the productById cache, in ranking order; products deleted since
+        // they were viewed drop out
+        List<ProductDtos.Trending> trending = new ArrayList<>(viewsById.size());
+        for (Product product : service.getProductsById(new ArrayList<>(viewsById.keySet()))) {
+            trending.add(new ProductDtos.Trending(
+                new ProductDtos.Summary(product.getId(), product.getSku(), product.getName(), product.getPrice(),
+                    product.getStockQty()),
+                viewsById.get(product.getId())));
+        }
+        return trending;
+    }
+
     @Operation(
         summary = "Get product by ID",
         description = "Returns a single product with ETag support for conditional requests. " +
@@ -66,6 +156,7 @@ public class ProductController {
         }
 
         Product product = productOpt.get();
+        views.record(id);
         String currentETag = "\"" + product.getUpdatedAt().toEpochMilli() + "\"";
 
         // Handle conditional GET with If-None-Match
@@ -80,6 +171,74 @@ public class ProductController {
                 .body(product);
     }
 
+    @Operation(
+        summary = "Get product by ID (sparse fieldset)",
+        description = "Same as get by ID, but the body holds only the comma-separated fields requested. ETag is unchanged."
+    )
+    @GetMapping(path = "/{id}", params = "fields", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> getProductFields(
+            @PathVariable Long id,
+            @RequestParam String fields,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
+    ) {
+        ProductFieldSet fieldSet = ProductFieldSet.parse(fields);
+        // Single rows come from the shared productById entry, so only the output is narrowed
+        Optional<Product> productOpt = service.getProductById(id);
+        if (productOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Product product = productOpt.get();
+        String currentETag = "\"" + product.getUpdatedAt().toEpochMilli() + "\"";
+        if (currentETag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(currentETag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(fieldSet.renderProduct(product));
+    }
+
+    @Operation(
+        summary = "Get product by SKU",
+        description = "Exact SKU lookup through the unique SKU index, cached as SKU -> id on top of the by-id cache. " +
+                     "Same ETag / If-None-Match handling as get by ID."
+    )
+    @GetMapping("/sku/{sku}")
+    public ResponseEntity<Product> getProductBySku(
+            @Parameter(description = "Product SKU")
+            @PathVariable String sku,
+            @Parameter(description = "ETag from previous response for conditional GET")
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
+    ) {
+        Optional<Product> productOpt = skuService.getProductBySku(sku);
+        if (productOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Product product = productOpt.get();
+        String currentETag = "\"" + product.getUpdatedAt().toEpochMilli() + "\"";
+        if (currentETag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(currentETag)
+                .body(product);
+    }
+
+    @Operation(
+        summary = "Get products by SKUs",
+        description = "Batch SKU lookup, e.g. skus=A-1,B-2 (at most 100). Found products keep the request order; " +
+                     "unknown SKUs are listed in missing. Cache misses are resolved with one IN query."
+    )
+    @GetMapping(path = "/sku", params = "skus")
+    public ProductSkuService.BatchResult getProductsBySku(
+            @Parameter(description = "Comma-separated SKUs")
+            @RequestParam List<String> skus
+    ) {
+        return skuService.getProductsBySku(skus);
+    }
+
     @Operation(summary = "Create product", description = "Creates a new product. Requires ADMIN role. Invalidates product cache.")
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -87,7 +246,9 @@ public class ProductController {
             @Valid @RequestBody ProductDtos.Create dto
     ) {
         Product product = service.createProduct(dto);
-        return ResponseEntity.status(HttpStatus.CREATED).body(product);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .headers(ProductController::consistencyToken)
+                .body(product);
     }
 
     @Operation(summary = "Update product", description = "Updates an existing product. Requires ADMIN role. Invalidates product cache.")
@@ -99,7 +260,9 @@ public class ProductController {
             @Valid @RequestBody ProductDtos.Update dto
     ) {
         Optional<Product> updated = service.updateProduct(id, dto);
-        return updated.map(ResponseEntity::ok)
+        return updated.map(product -> ResponseEntity.ok()
+                        .headers(ProductController::consistencyToken)
+                        .body(product))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -112,7 +275,47 @@ public class ProductController {
     ) {
         boolean deleted = service.deleteProduct(id);
         return deleted 
-                ? ResponseEntity.noContent().build()
+                ? ResponseEntity.noContent().headers(ProductController::consistencyToken).build()
                 : ResponseEntity.notFound().build();
     }
+
+    @Operation(
+        summary = "Bulk update products",
+        description = "Applies field-level changes to many products addressed by id or sku, in chunked set-based statements. " +
+                      "Returns a result per item. Requires ADMIN role. Invalidates product cache once per chunk."
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductDtos.BulkResult> bulkUpdate(
+            @Valid @RequestBody ProductDtos.BulkPatch request
+    ) {
+        return ResponseEntity.ok()
+                .headers(ProductController::consistencyToken)
+                .body(bulkService.patch(request.items()));
+    }
+
+    @Operation(
+        summary = "Bulk delete products",
+        description = "Deletes many products by ids and/or skus in chunked statements. Returns a result per item. Requires ADMIN role."
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductDtos.BulkResult> bulkDelete(
+            @RequestBody ProductDtos.BulkDelete request
+    ) {
+        return ResponseEntity.ok()
+                .headers(ProductController::consistencyToken)
+                .body(bulkService.delete(request));
+    }
+
+    /**
+     * Lets clients read their own write: sending the token back pins reads to the primary
+     * until replicas have caught up (only set when read-replica routing is enabled).
+     */
+    private static void consistencyToken(HttpHeaders headers) {
+        String token = ReadConsistency.lastWriteToken();
+        if (token != null) {
+            headers.set(ReadConsistency.HEADER, token);
+        }
+    }
 }
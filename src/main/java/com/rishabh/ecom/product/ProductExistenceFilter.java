@@ -0,0 +1,67 @@
+package com.rishabh.ecom.product;
+
+import com.rishabh.ecom.db.ReadConsistency;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Answers product GETs for ids and SKUs that certainly don't exist with 404, ahead of the response-body
+ * cache, the Redis caches and MySQL (see {@link ProductExistenceGuard}).
+ * A consistency token only skips the negative cache, and only when it parses and falls inside
+ * the replica-lag window: the write it follows may have created a product after a miss was
+ * remembered. The header is client-controlled, so it never switches off the Bloom filter.
+ */
+public class ProductExistenceFilter extends OncePerRequestFilter {
+
+    private static final Pattern BY_ID = Pattern.compile("/api/v1/products/(\\d{1,18})");
+    private static final Pattern BY_SKU = Pattern.compile("/api/v1/products/sku/([^/]+)");
+
+    private final ProductExistenceGuard guard;
+    private final Duration tokenWindow;
+
+    public ProductExistenceFilter(ProductExistenceGuard guard, Duration tokenWindow) {
+        this.guard = guard;
+        this.tokenWindow = tokenWindow;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI();
+        boolean afterRecentWrite = ReadConsistency.parseToken(request.getHeader(ReadConsistency.HEADER), tokenWindow) != null;
+        Matcher byId = BY_ID.matcher(path);
+        if (byId.matches() && guard.definitelyAbsentId(Long.parseLong(byId.group(1)), afterRecentWrite)) {
+            notFound(request, response, "/api/v1/products/{id}");
+            return;
+        }
+        Matcher bySku = BY_SKU.matcher(path);
+        if (bySku.matches() && guard.definitelyAbsentSku(
+                UriUtils.decode(bySku.group(1), StandardCharsets.UTF_8), afterRecentWrite)) {
+            notFound(request, response, "/api/v1/products/sku/{sku}");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static void notFound(HttpServletRequest request, HttpServletResponse response, String route) {
+        // No handler runs; expose the route so request metrics still tag it
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+        response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+    }
+}
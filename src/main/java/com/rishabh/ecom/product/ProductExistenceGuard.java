@@ -0,0 +1,272 @@
+package com.rishabh.ecom.product;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Answers "does this product certainly not exist?" without a cache or database call, so
+ * lookups of unknown ids and SKUs (scrapers, stale links) can't bypass the caches into MySQL.
+ * - A Bloom filter of every product id and SKU, built by a keyset scan at startup and rebuilt
+ *   every app.products.existence-filter.rebuild-interval (a Bloom filter can't forget, so
+ *   deleted products only drop out on rebuild)
+ * - Products created here are added before their transaction commits; products created
+ *   elsewhere (other instances, the load-test seeder) are picked up by an incremental scan
+ *   every refresh-interval
+ * - Ids above the highest id seen by the last scan are never rejected, so new ids from other
+ *   instances can't 404 before they are scanned; SKUs have no such order and may 404 for up
+ *   to one refresh interval after another instance creates them
+ * - Ids and SKUs that pass the filter but turn out missing are remembered for negative-ttl;
+ *   remembered misses are dropped as soon as a scan finds the product, and ids above the
+ *   watermark never consult them, nor do lookups that follow a recent write (a valid
+ *   consistency token), since the product may have been created after the miss was recorded
+ * Publishes product.existence.checks tagged by result.
+ */
+@Component
+public class ProductExistenceGuard {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductExistenceGuard.class);
+    private static final int SCAN_PAGE_SIZE = 10_000;
+    // Ids allocated before the last scan but committed after it are still below the watermark
+    private static final long SCAN_OVERLAP = 1_000;
+
+    private record Scanned(long maxId, long rows) {}
+
+    private final JdbcTemplate jdbc;
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final long rebuildIntervalNanos;
+    private final long negativeTtlNanos;
+    private final int negativeMaxEntries;
+    private final ConcurrentMap<String, Long> negative = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+    private volatile BloomFilter building;
+    private volatile long watermark;
+    private long lastRebuildNanos;
+
+    private final Counter rejectedByFilter;
+    private final Counter rejectedByNegativeCache;
+    private final Counter passed;
+
+    public ProductExistenceGuard(
+        JdbcTemplate jdbc,
+        MeterRegistry registry,
+        @Value("${app.products.existence-filter.enabled:true}") boolean enabled,
+        @Value("${app.products.existence-filter.false-positive-rate:0.01}") double falsePositiveRate,
+        @Value("${app.products.existence-filter.rebuild-interval:PT1H}") Duration rebuildInterval,
+        @Value("${app.products.existence-filter.negative-ttl:PT30S}") Duration negativeTtl,
+        @Value("${app.products.existence-filter.negative-max-entries:100000}") int negativeMaxEntries
+    ) {
+        this.jdbc = jdbc;
+        this.enabled = enabled;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildIntervalNanos = rebuildInterval.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.negativeMaxEntries = negativeMaxEntries;
+        this.rejectedByFilter = checks(registry, "rejected_filter");
+        this.rejectedByNegativeCache = checks(registry, "rejected_negative_cache");
+        this.passed = checks(registry, "passed");
+    }
+
+    public boolean definitelyAbsentId(long id) {
+        return definitelyAbsentId(id, false);
+    }
+
+    public boolean definitelyAbsentId(long id, boolean afterRecentWrite) {
+        if (!enabled) {
+            return false;
+        }
+        BloomFilter current = filter;
+        if (id <= 0 || (current != null && id <= watermark && !current.mightContain(idHash(id)))) {
+            rejectedByFilter.increment();
+            return true;
+        }
+        if (current == null || id > watermark || afterRecentWrite) {
+            // May have been created elsewhere since the last scan; a remembered miss could be stale
+            passed.increment();
+            return false;
+        }
+        return checkNegative(idKey(id));
+    }
+
+    public boolean definitelyAbsentSku(String sku) {
+        return definitelyAbsentSku(sku, false);
+    }
+
+    public boolean definitelyAbsentSku(String sku, boolean afterRecentWrite) {
+        if (!enabled) {
+            return false;
+        }
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(skuHash(sku))) {
+            rejectedByFilter.increment();
+            return true;
+        }
+        if (afterRecentWrite) {
+            passed.increment();
+            return false;
+        }
+        return checkNegative(skuKey(sku));
+    }
+
+    public void recordAbsentId(long id) {
+        recordNegative(idKey(id));
+    }
+
+    public void recordAbsentSku(String sku) {
+        recordNegative(skuKey(sku));
+    }
+
+    /**
+     * Call before the creating transaction commits: a rollback only leaves a false positive.
+     */
+    public void added(Long id, String sku) {
+        negative.remove(idKey(id));
+        negative.remove(skuKey(sku));
+        BloomFilter next = building;
+        BloomFilter current = filter;
+        if (current != null) {
+            put(current, id, sku);
+        }
+        if (next != null && next != current) {
+            put(next, id, sku);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.products.existence-filter.refresh-interval:PT5S}")
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (filter == null || System.nanoTime() - lastRebuildNanos > rebuildIntervalNanos) {
+                rebuild();
+            } else {
+                Scanned scanned = scan(filter, Math.max(0, watermark - SCAN_OVERLAP));
+                watermark = Math.max(watermark, scanned.maxId());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Product existence filter refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private void rebuild() {
+        long count = jdbc.queryForObject("SELECT COUNT(*) FROM products", Long.class);
+        // ids and SKUs, plus room for the products created before the next rebuild
+        BloomFilter fresh = new BloomFilter(Math.max(1024, count * 5 / 2), falsePositiveRate);
+        building = fresh;
+        try {
+            Scanned scanned = scan(fresh, 0);
+            filter = fresh;
+            watermark = scanned.maxId();
+            lastRebuildNanos = System.nanoTime();
+            log.info("Product existence filter rebuilt: {} products, {} bits, {} hashes",
+                scanned.rows(), fresh.bitCount(), fresh.hashCount());
+        } finally {
+            building = null;
+        }
+    }
+
+    /**
+     * Keyset scan (WHERE id > ? ORDER BY id LIMIT n): bounded memory, one index range per page.
+     */
+    private Scanned scan(BloomFilter target, long afterId) {
+        long last = afterId;
+        long rows = 0;
+        while (true) {
+            long[] page = {last, 0};
+            jdbc.query("SELECT id, sku FROM products WHERE id > ? ORDER BY id LIMIT " + SCAN_PAGE_SIZE, rs -> {
+                long id = rs.getLong(1);
+                String sku = rs.getString(2);
+                put(target, id, sku);
+                if (!negative.isEmpty()) {
+                    // Created on another instance after a lookup here missed
+                    negative.remove(idKey(id));
+                    negative.remove(skuKey(sku));
+                }
+                page[0] = id;
+                page[1]++;
+            }, last);
+            rows += page[1];
+            last = page[0];
+            if (page[1] < SCAN_PAGE_SIZE) {
+                return new Scanned(last, rows);
+            }
+        }
+    }
+
+    private boolean checkNegative(String key) {
+        Long expiresAt = negative.get(key);
+        if (expiresAt != null) {
+            if (System.nanoTime() - expiresAt < 0) {
+                rejectedByNegativeCache.increment();
+                return true;
+            }
+            negative.remove(key, expiresAt);
+        }
+        passed.increment();
+        return false;
+    }
+
+    private void recordNegative(String key) {
+        if (!enabled) {
+            return;
+        }
+        if (negative.size() >= negativeMaxEntries) {
+            makeRoom();
+        }
+        negative.put(key, System.nanoTime() + negativeTtlNanos);
+    }
+
+    private void makeRoom() {
+        long now = System.nanoTime();
+        negative.values().removeIf(expiresAt -> now - expiresAt >= 0);
+        // Still full: drop arbitrary entries rather than grow unbounded
+        Iterator<String> keys = negative.keySet().iterator();
+        while (negative.size() >= negativeMaxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static void put(BloomFilter target, Long id, String sku) {
+        if (id != null) {
+            target.put(idHash(id));
+        }
+        if (sku != null) {
+            target.put(skuHash(sku));
+        }
+    }
+
+    private static long idHash(long id) {
+        return BloomFilter.mix(id);
+    }
+
+    private static long skuHash(String sku) {
+        return BloomFilter.hash(sku);
+    }
+
+    private static String idKey(Long id) {
+        return "id:" + id;
+    }
+
+    private static String skuKey(String sku) {
+        return "sku:" + sku;
+    }
+
+    private static Counter checks(MeterRegistry registry, String result) {
+        return Counter.builder("product.existence.checks").tag("result", result).register(registry);
+    }
+}
@@ -0,0 +1,71 @@
+package com.rishabh.ecom.product;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * Product attributes selectable through ?fields=, in Product's JSON order.
+ * Each constant carries its entity attribute, a pre-encoded JSON name and a typed
+ * value writer, so sparse responses are rendered without reflection.
+ */
+public enum ProductField {
+    ID("id", Product::getId),
+    NAME("name", Product::getName),
+    DESCRIPTION("description", Product::getDescription),
+    PRICE("price", Product::getPrice),
+    SKU("sku", Product::getSku),
+    STOCK_QTY("stockQty", Product::getStockQty),
+    CREATED_AT("createdAt", Product::getCreatedAt),
+    UPDATED_AT("updatedAt", Product::getUpdatedAt);
+
+    private final String attribute;
+    private final SerializedString jsonName;
+    private final Function<Product, Object> getter;
+
+    ProductField(String attribute, Function<Product, Object> getter) {
+        this.attribute = attribute;
+        this.jsonName = new SerializedString(attribute);
+        this.getter = getter;
+    }
+
+    /**
+     * Entity attribute name, also the JSON property name.
+     */
+    public String attribute() {
+        return attribute;
+    }
+
+    Object valueOf(Product product) {
+        return getter.apply(product);
+    }
+
+    void write(JsonGenerator json, Object value) throws IOException {
+        json.writeFieldName(jsonName);
+        if (value == null) {
+            json.writeNull();
+            return;
+        }
+        switch (this) {
+            case ID -> json.writeNumber((Long) value);
+            case STOCK_QTY -> json.writeNumber((Integer) value);
+            case PRICE -> json.writeNumber((BigDecimal) value);
+            // ISO-8601, as Spring's ObjectMapper renders Instant
+            case CREATED_AT, UPDATED_AT -> json.writeString(((Instant) value).toString());
+            default -> json.writeString((String) value);
+        }
+    }
+
+    static ProductField fromAttribute(String attribute) {
+        for (ProductField field : values()) {
+            if (field.attribute.equals(attribute)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown product field: " + attribute);
+    }
+}
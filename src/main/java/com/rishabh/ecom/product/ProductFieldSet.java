@@ -0,0 +1,128 @@
+package com.rishabh.ecom.product;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * A canonical ?fields= selection with its precompiled JSON writer.
+ * - Order and duplicates in the request don't matter: "price,id" and "id,price,id" are the same set
+ * - Instances are interned per set, so the writer is built once and the key is stable for caching
+ * - Rendering streams straight to a JsonGenerator; no bean introspection or Jackson filters
+ */
+public final class ProductFieldSet {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final SerializedString CONTENT = new SerializedString("content");
+    private static final ConcurrentMap<Integer, ProductFieldSet> INTERNED = new ConcurrentHashMap<>();
+
+    private final List<ProductField> fields;
+    private final String key;
+
+    private ProductFieldSet(EnumSet<ProductField> fields) {
+        this.fields = List.copyOf(fields);
+        this.key = this.fields.stream().map(ProductField::attribute).collect(Collectors.joining(","));
+    }
+
+    public static ProductFieldSet parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            throw new IllegalArgumentException("fields must name at least one product field");
+        }
+        EnumSet<ProductField> selected = EnumSet.noneOf(ProductField.class);
+        for (String name : fields.split(",")) {
+            if (!name.isBlank()) {
+                selected.add(ProductField.fromAttribute(name.trim()));
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one product field");
+        }
+        int mask = 0;
+        for (ProductField field : selected) {
+            mask |= 1 << field.ordinal();
+        }
+        return INTERNED.computeIfAbsent(mask, m -> new ProductFieldSet(selected));
+    }
+
+    public List<ProductField> fields() {
+        return fields;
+    }
+
+    /**
+     * Canonical form, e.g. "id,name,price"; used in cache keys.
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * Renders projected rows (values in {@link #fields()} order) in the compact page envelope.
+     */
+    public String renderPage(List<Object[]> rows, int page, int size, long totalElements, int totalPages) {
+        return render(json -> {
+            json.writeStartObject();
+            json.writeFieldName(CONTENT);
+            json.writeStartArray();
+            for (Object[] row : rows) {
+                json.writeStartObject();
+                for (int i = 0; i < fields.size(); i++) {
+                    fields.get(i).write(json, row[i]);
+                }
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeNumberField("page", page);
+            json.writeNumberField("size", size);
+            json.writeNumberField("totalElements", totalElements);
+            json.writeNumberField("totalPages", totalPages);
+            json.writeEndObject();
+        });
+    }
+
+    public String renderProduct(Product product) {
+        return render(json -> {
+            json.writeStartObject();
+            for (ProductField field : fields) {
+                field.write(json, field.valueOf(product));
+            }
+            json.writeEndObject();
+        });
+    }
+
+    List<String> attributes() {
+        List<String> attributes = new ArrayList<>(fields.size());
+        fields.forEach(field -> attributes.add(field.attribute()));
+        return attributes;
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+
+    private interface Body {
+        void write(JsonGenerator json) throws IOException;
+    }
+
+    private static String render(Body body) {
+        try (ByteArrayBuilder buffer = new ByteArrayBuilder(512);
+             JsonGenerator json = JSON.createGenerator(buffer)) {
+            body.write(json);
+            json.flush();
+            return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not render product JSON", e);
+        }
+    }
+}
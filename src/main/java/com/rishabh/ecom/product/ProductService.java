@@ -1,9 +1,10 @@
 package com.rishabh.ecom.product;
 
 import com.rishabh.ecom.product.dto.ProductDtos;
-import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.*;
@@ -11,6 +12,12 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
@@ -23,53 +30,95 @@ public class ProductService {
     );
 
     private final ProductRepository repo;
-
-    public ProductService(ProductRepository repo) {
+    private final ProductBatchLoader batchLoader;
+    private final CatalogStats stats;
+    private final ProductExistenceGuard existence;
+    private final ProductChangeFeed changeFeed;
+    private final CacheManager cacheManager;
+
+    public ProductService(ProductRepository repo, ProductBatchLoader batchLoader, CatalogStats stats,
+                          ProductExistenceGuard existence, ProductChangeFeed changeFeed, CacheManager cacheManager) {
         this.repo = repo;
+        this.batchLoader = batchLoader;
+        this.stats = stats;
+        this.existence = existence;
+        this.changeFeed = changeFeed;
+        this.cacheManager = cacheManager;
     }
 
-    @Timed(value = "product.search", description = "Time taken to search products")
+    @Transactional(readOnly = true)
     @Cacheable(value = "products", key = "(#q != null ? #q : 'null') + '-' + #page + '-' + #size + '-' + (#sortBy != null ? #sortBy : 'null') + '-' + (#order != null ? #order : 'null')")
-    public Page<Product> search(String q, int page, int size, String sortBy, String order) {
+    public ProductDtos.PageResponse<ProductDtos.Summary> search(String q, int page, int size, String sortBy, String order) {
         log.info("🔴 CACHE MISS: products search - q={}, page={}, size={}, sortBy={}, order={}", q, page, size, sortBy, order);
         
-        // sanitize paging
-        page = Math.max(page, 0);
-        size = (size <= 0 || size > 200) ? 20 : size;
-
-        // sanitize sort field
-        if (sortBy == null || !ALLOWED_SORT_FIELDS.contains(sortBy)) {
-            sortBy = "createdAt";
-        }
-
-        // sanitize direction
-        Sort.Direction dir = Sort.Direction.DESC;
-        if (order != null) {
-            dir = Sort.Direction.fromOptionalString(order).orElse(Sort.Direction.DESC);
-        }
-
-        Pageable pageable = PageRequest.of(page, size, Sort.by(dir, sortBy));
+        Pageable pageable = pageable(page, size, sortBy, order);
 
         // build spec (q filters by sku or name)
         Specification<Product> spec = ProductSpecifications.matchingQuery(q);
 
-        Page<Product> result = repo.findAll(spec, pageable);
-        log.info("💾 CACHE POPULATED: products search - {} results cached", result.getTotalElements());
+        ProductDtos.PageResponse<ProductDtos.Summary> result = ProductDtos.PageResponse.of(repo.findSummaries(spec, pageable));
+        log.info("💾 CACHE POPULATED: products search - {} results cached", result.totalElements());
         return result;
     }
 
-    @Timed(value = "product.getById", description = "Time taken to get product by ID")
+    /**
+     * Search restricted to a ?fields= subset: only those columns are selected, and the page
+     * is cached as rendered JSON per canonical field set.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = "productFields", key = "#fields.key() + '|' + (#q != null ? #q : 'null') + '-' + #page + '-' + #size + '-' + (#sortBy != null ? #sortBy : 'null') + '-' + (#order != null ? #order : 'null')")
+    public String searchFields(String q, int page, int size, String sortBy, String order, ProductFieldSet fields) {
+        log.info("🔴 CACHE MISS: products search - q={}, page={}, size={}, sortBy={}, order={}, fields={}", q, page, size, sortBy, order, fields);
+        Pageable pageable = pageable(page, size, sortBy, order);
+        Page<Object[]> rows = repo.findColumns(ProductSpecifications.matchingQuery(q), pageable, fields.attributes());
+        return fields.renderPage(rows.getContent(), rows.getNumber(), rows.getSize(), rows.getTotalElements(), rows.getTotalPages());
+    }
+
+    /**
+     * Not transactional on purpose: a miss waits on the batch loader, which runs its own
+     * read-only transaction, so the caller must not hold a connection while it waits.
+     */
     @Cacheable(value = "productById", key = "#id")
     public Optional<Product> getProductById(Long id) {
         log.info("🔴 CACHE MISS: productById - id={}", id);
-        Optional<Product> product = repo.findById(id);
+        Optional<Product> product = batchLoader.load(id);
         if (product.isPresent()) {
             log.info("💾 CACHE POPULATED: productById - id={} cached", id);
+        } else {
+            // Empty results aren't cached in Redis; remember the miss briefly instead
+            existence.recordAbsentId(id);
         }
         return product;
     }
 
-    @CacheEvict(value = {"products", "productById"}, allEntries = true)
+    /**
+     * getProductById for many ids: hits come from "productById", and all misses are queued on
+     * the batch loader together, so they share one findAllById. Keeps the order of ids;
+     * ids without a product are skipped.
+     */
+    public List<Product> getProductsById(List<Long> ids) {
+        Cache byId = cacheManager.getCache("productById");
+        Map<Long, Product> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            Product product = byId.get(id, Product.class);
+            if (product != null) {
+                found.put(id, product);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            log.info("🔴 CACHE MISS: productById - {} ids", misses.size());
+            Map<Long, Product> loaded = batchLoader.loadAll(misses);
+            loaded.forEach(byId::put);
+            found.putAll(loaded);
+            misses.stream().filter(id -> !loaded.containsKey(id)).forEach(existence::recordAbsentId);
+        }
+        return ids.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    @CacheEvict(value = {"products", "productFields", "productById", ProductBodyCacheFilter.CACHE}, allEntries = true)
     @Transactional
     public Product createProduct(ProductDtos.Create dto) {
         log.info("Cache evicted: creating product - sku={}", dto.sku());
@@ -80,31 +129,65 @@ public class ProductService {
                 .sku(dto.sku())
                 .stockQty(dto.stockQty())
                 .build();
-        return repo.save(product);
+        Product saved = repo.save(product);
+        existence.added(saved.getId(), saved.getSku());
+        stats.created(saved.getPrice(), saved.getStockQty());
+        return saved;
     }
 
-    @CacheEvict(value = {"products", "productById"}, allEntries = true)
+    @CacheEvict(value = {"products", "productFields", "productById", ProductBodyCacheFilter.CACHE}, allEntries = true)
     @Transactional
     public Optional<Product> updateProduct(Long id, ProductDtos.Update dto) {
         log.info("Cache evicted: updating product - id={}", id);
         return repo.findById(id)
                 .map(existing -> {
+                    BigDecimal oldPrice = existing.getPrice();
+                    int oldStockQty = existing.getStockQty();
                     if (dto.name() != null) existing.setName(dto.name());
                     if (dto.description() != null) existing.setDescription(dto.description());
                     if (dto.price() != null) existing.setPrice(dto.price());
                     if (dto.stockQty() != null) existing.setStockQty(dto.stockQty());
-                    return repo.save(existing);
+                    Product saved = repo.save(existing);
+                    stats.updated(oldPrice, oldStockQty, saved.getPrice(), saved.getStockQty());
+                    return saved;
                 });
     }
 
-    @CacheEvict(value = {"products", "productById"}, allEntries = true)
+    @CacheEvict(value = {"products", "productFields", "productById", ProductSkuService.CACHE, ProductBodyCacheFilter.CACHE},
+            allEntries = true)
     @Transactional
     public boolean deleteProduct(Long id) {
         log.info("Cache evicted: deleting product - id={}", id);
-        if (repo.existsById(id)) {
-            repo.deleteById(id);
-            return true;
+        return repo.findById(id)
+                .map(existing -> {
+                    repo.delete(existing);
+                    changeFeed.deleted(Map.of(existing.getId(), existing.getSku()));
+                    stats.deleted(existing.getPrice(), existing.getStockQty());
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    public CatalogStats.Snapshot stats() {
+        return stats.snapshot();
+    }
+
+    private static Pageable pageable(int page, int size, String sortBy, String order) {
+        // sanitize paging
+        page = Math.max(page, 0);
+        size = (size <= 0 || size > 200) ? 20 : size;
+
+        // sanitize sort field
+        if (sortBy == null || !ALLOWED_SORT_FIELDS.contains(sortBy)) {
+            sortBy = "createdAt";
+        }
+
+        // sanitize direction
+        Sort.Direction dir = Sort.Direction.DESC;
+        if (order != null) {
+            dir = Sort.Direction.fromOptionalString(order).orElse(Sort.Direction.DESC);
         }
-        return false;
+
+        return PageRequest.of(page, size, Sort.by(dir, sortBy));
     }
 }
@@ -0,0 +1,151 @@
+package com.rishabh.ecom.product;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Product lookups by SKU through the uk_products_sku index.
+ * - "productIdBySku" caches only SKU → id; the product itself lives in "productById", so a
+ *   product read by id and by SKU is cached once and every product write keeps both coherent
+ * - SKUs never change, so a mapping only goes stale when its product is deleted; deletes
+ *   evict it (a re-created SKU gets a new id), and a mapping whose product is gone anyway
+ *   (an eviction lost to a Redis error, another node's delete) is dropped and looked up again
+ * - A miss loads the full row by SKU and fills both caches from that one query
+ * - SKUs the existence filter rules out never reach a cache or MySQL
+ */
+@Service
+public class ProductSkuService {
+
+    public static final String CACHE = "productIdBySku";
+
+    public record BatchResult(List<Product> products, List<String> missing) {}
+
+    private final ProductRepository repo;
+    private final ProductService productService;
+    private final ProductExistenceGuard existence;
+    private final CacheManager cacheManager;
+    private final int maxBatchSize;
+
+    public ProductSkuService(
+        ProductRepository repo,
+        ProductService productService,
+        ProductExistenceGuard existence,
+        CacheManager cacheManager,
+        @Value("${app.products.sku.max-batch-size:100}") int maxBatchSize
+    ) {
+        this.repo = repo;
+        this.productService = productService;
+        this.existence = existence;
+        this.cacheManager = cacheManager;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Optional<Product> getProductBySku(String sku) {
+        if (existence.definitelyAbsentSku(sku)) {
+            return Optional.empty();
+        }
+        Long id = idCache().get(sku, Long.class);
+        if (id != null) {
+            Optional<Product> cached = productService.getProductById(id);
+            if (cached.isPresent()) {
+                return cached;
+            }
+            // The mapped product is gone but the SKU may have been re-created under a new id
+            idCache().evict(sku);
+        }
+        // SKUs match exactly, as in the existence filter, whatever the column collation
+        Optional<Product> product = repo.findBySku(sku).filter(p -> p.getSku().equals(sku));
+        product.ifPresentOrElse(this::cache, () -> existence.recordAbsentSku(sku));
+        return product;
+    }
+
+    /**
+     * Results keep the order of the requested SKUs; duplicates are answered once.
+     */
+    public BatchResult getProductsBySku(List<String> skus) {
+        Set<String> requested = new LinkedHashSet<>(skus);
+        if (requested.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " SKUs per request");
+        }
+        Cache idCache = idCache();
+        Cache byId = byIdCache();
+        Map<String, Product> found = new HashMap<>();
+        Map<Long, String> uncachedProducts = new HashMap<>();
+        List<String> unresolved = new ArrayList<>();
+        for (String sku : requested) {
+            if (existence.definitelyAbsentSku(sku)) {
+                continue;
+            }
+            Long id = idCache.get(sku, Long.class);
+            if (id == null) {
+                unresolved.add(sku);
+                continue;
+            }
+            Product product = byId.get(id, Product.class);
+            if (product != null) {
+                found.put(sku, product);
+            } else {
+                uncachedProducts.put(id, sku);
+            }
+        }
+        // One IN query per kind of miss instead of a lookup per SKU
+        if (!uncachedProducts.isEmpty()) {
+            for (Product product : repo.findAllById(uncachedProducts.keySet())) {
+                found.put(uncachedProducts.remove(product.getId()), product);
+                byId.put(product.getId(), product);
+            }
+            // Stale mappings: look those SKUs up again with the unresolved ones
+            uncachedProducts.values().forEach(sku -> {
+                idCache.evict(sku);
+                unresolved.add(sku);
+            });
+        }
+        if (!unresolved.isEmpty()) {
+            Set<String> wanted = new HashSet<>(unresolved);
+            for (Product product : repo.findBySkuIn(unresolved)) {
+                // Exact match, as for a single SKU: a case-insensitive collation also returns near misses
+                if (wanted.contains(product.getSku())) {
+                    found.put(product.getSku(), product);
+                    cache(product);
+                }
+            }
+            unresolved.stream().filter(sku -> !found.containsKey(sku)).forEach(existence::recordAbsentSku);
+        }
+
+        List<Product> products = new ArrayList<>(found.size());
+        List<String> missing = new ArrayList<>();
+        for (String sku : requested) {
+            Product product = found.get(sku);
+            if (product != null) {
+                products.add(product);
+            } else {
+                missing.add(sku);
+            }
+        }
+        return new BatchResult(products, missing);
+    }
+
+    private void cache(Product product) {
+        idCache().put(product.getSku(), product.getId());
+        byIdCache().put(product.getId(), product);
+    }
+
+    private Cache idCache() {
+        return cacheManager.getCache(CACHE);
+    }
+
+    private Cache byIdCache() {
+        return cacheManager.getCache("productById");
+    }
+}
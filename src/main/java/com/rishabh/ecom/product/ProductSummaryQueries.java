@@ -0,0 +1,21 @@
+package com.rishabh.ecom.product;
+
+import com.rishabh.ecom.product.dto.ProductDtos;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Repository fragment for list views that select DTOs instead of entities.
+ */
+public interface ProductSummaryQueries {
+
+    Page<ProductDtos.Summary> findSummaries(Specification<Product> spec, Pageable pageable);
+
+    /**
+     * Selects only the given attributes; each row holds their values in the same order.
+     */
+    Page<Object[]> findColumns(Specification<Product> spec, Pageable pageable, List<String> attributes);
+}
@@ -0,0 +1,301 @@
+package com.rishabh.ecom.product;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Product view counts over a sliding window, shared by every node through Redis.
+ * - record() is the getProduct hot path: a ring slot lookup, a probe of the slot's
+ *   long-keyed table and a LongAdder increment; no locks, and no allocation once the product
+ *   has been seen in the bucket. Past TABLE_CAPACITY distinct products a bucket spills into a
+ *   boxed map, which does allocate
+ * - Slots are wall-clock buckets (app.products.trending.bucket), so every node counts into
+ *   the same bucket numbers; the ring holds max-window worth of them
+ * - flush() sends each bucket's growth since the last flush as one pipelined batch of ZINCRBY
+ *   into trending:views:{bucket}, a sorted set per bucket that expires after max-window
+ * - top() merges the window's buckets from all nodes with ZUNIONSTORE and memoizes the ranking
+ *   for flush-interval; if Redis is unavailable it ranks this node's own counts instead
+ */
+@Component
+public class ProductViewCounter {
+
+    public record Ranked(long productId, long views) {}
+
+    private static final Logger log = LoggerFactory.getLogger(ProductViewCounter.class);
+    private static final String KEY_PREFIX = "trending:views:";
+    private static final Function<Long, LongAdder> NEW_ADDER = id -> new LongAdder();
+    private static final int TABLE_CAPACITY = 1024;
+    private static final int MAX_PROBES = 32;
+
+    /** One bucket's counts; flushed is only touched by the flushing thread. */
+    private static final class Slot {
+        final long bucket;
+        final ViewTable views = new ViewTable();
+        final Map<Long, Long> flushed = new HashMap<>();
+
+        Slot(long bucket) {
+            this.bucket = bucket;
+        }
+    }
+
+    /**
+     * Open-addressing productId -> LongAdder table, so lookups take a primitive key.
+     * Keys are stored as id + 1 with 0 meaning empty, and are never removed: a slot is
+     * dropped whole when the ring moves past its bucket.
+     */
+    static final class ViewTable {
+        private final AtomicLongArray keys = new AtomicLongArray(TABLE_CAPACITY);
+        private final AtomicReferenceArray<LongAdder> adders = new AtomicReferenceArray<>(TABLE_CAPACITY);
+        private final ConcurrentHashMap<Long, LongAdder> overflow = new ConcurrentHashMap<>();
+
+        LongAdder adder(long productId) {
+            if (productId >= 0 && productId < Long.MAX_VALUE) {
+                long key = productId + 1;
+                int index = (int) ((key * 0x9E3779B97F4A7C15L) >>> 54) & (TABLE_CAPACITY - 1);
+                for (int probe = 0; probe < MAX_PROBES; probe++) {
+                    int i = (index + probe) & (TABLE_CAPACITY - 1);
+                    long current = keys.get(i);
+                    if (current == 0 && keys.compareAndSet(i, 0, key)) {
+                        current = key;
+                    } else if (current == 0) {
+                        current = keys.get(i);
+                    }
+                    if (current == key) {
+                        LongAdder adder = adders.get(i);
+                        if (adder == null) {
+                            // The claiming thread may not have installed it yet; whoever gets here first does
+                            adders.compareAndSet(i, null, new LongAdder());
+                            adder = adders.get(i);
+                        }
+                        return adder;
+                    }
+                }
+            }
+            LongAdder adder = overflow.get(productId);
+            return adder != null ? adder : overflow.computeIfAbsent(productId, NEW_ADDER);
+        }
+
+        void forEach(BiConsumer<Long, LongAdder> action) {
+            for (int i = 0; i < TABLE_CAPACITY; i++) {
+                LongAdder adder = adders.get(i);
+                if (adder != null) {
+                    action.accept(keys.get(i) - 1, adder);
+                }
+            }
+            overflow.forEach(action);
+        }
+    }
+
+    private record Memo(long computedAt, List<Ranked> ranking) {}
+
+    private final StringRedisTemplate redis;
+    private final Clock clock;
+    private final long bucketMillis;
+    private final int maxWindowBuckets;
+    private final int maxResults;
+    private final long memoMillis;
+    private final AtomicReferenceArray<Slot> ring;
+    private final ConcurrentHashMap<Integer, Memo> memos = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ProductViewCounter(
+        ObjectProvider<StringRedisTemplate> redis,
+        @Value("${app.products.trending.bucket:PT1M}") Duration bucket,
+        @Value("${app.products.trending.max-window:PT1H}") Duration maxWindow,
+        @Value("${app.products.trending.flush-interval:PT10S}") Duration flushInterval,
+        @Value("${app.products.trending.max-results:100}") int maxResults
+    ) {
+        this(redis.getIfAvailable(), Clock.systemUTC(), bucket, maxWindow, flushInterval, maxResults);
+    }
+
+    ProductViewCounter(StringRedisTemplate redis, Clock clock, Duration bucket, Duration maxWindow,
+                       Duration flushInterval, int maxResults) {
+        this.redis = redis;
+        this.clock = clock;
+        this.bucketMillis = bucket.toMillis();
+        this.maxWindowBuckets = (int) Math.max(1, maxWindow.toMillis() / bucketMillis);
+        this.maxResults = maxResults;
+        this.memoMillis = flushInterval.toMillis();
+        // One spare slot for the bucket being flushed while the next one fills
+        this.ring = new AtomicReferenceArray<>(maxWindowBuckets + 1);
+    }
+
+    public void record(long productId) {
+        long bucket = currentBucket();
+        int index = (int) (bucket % ring.length());
+        Slot slot = ring.get(index);
+        if (slot == null || slot.bucket != bucket) {
+            slot = rotate(index, slot, bucket);
+        }
+        slot.views.adder(productId).increment();
+    }
+
+    @Scheduled(fixedDelayString = "${app.products.trending.flush-interval:PT10S}")
+    public synchronized void flush() {
+        if (redis == null) {
+            return;
+        }
+        List<Slot> slots = new ArrayList<>();
+        for (int i = 0; i < ring.length(); i++) {
+            Slot slot = ring.get(i);
+            if (slot != null) {
+                slots.add(slot);
+            }
+        }
+        // Deltas are computed first and committed only after Redis accepted them
+        Map<Slot, Map<Long, Long>> pending = new HashMap<>();
+        for (Slot slot : slots) {
+            Map<Long, Long> deltas = new HashMap<>();
+            slot.views.forEach((id, adder) -> {
+                long delta = adder.sum() - slot.flushed.getOrDefault(id, 0L);
+                if (delta > 0) {
+                    deltas.put(id, delta);
+                }
+            });
+            if (!deltas.isEmpty()) {
+                pending.put(slot, deltas);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        long ttlSeconds = Duration.ofMillis(bucketMillis * (maxWindowBuckets + 2L)).toSeconds();
+        try {
+            redis.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection commands = (StringRedisConnection) connection;
+                pending.forEach((slot, deltas) -> {
+                    String key = key(slot.bucket);
+                    deltas.forEach((id, delta) -> commands.zIncrBy(key, delta, id.toString()));
+                    commands.expire(key, ttlSeconds);
+                });
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Product view flush to Redis failed, retrying next interval: {}", e.getMessage());
+            return;
+        }
+        pending.forEach((slot, deltas) -> deltas.forEach((id, delta) -> slot.flushed.merge(id, delta, Long::sum)));
+    }
+
+    /**
+     * Most viewed products over the last window, across all nodes; at most max-results.
+     */
+    public List<Ranked> top(Duration window, int limit) {
+        int buckets = (int) Math.min(maxWindowBuckets, Math.max(1, window.toMillis() / bucketMillis));
+        long now = clock.millis();
+        Memo memo = memos.get(buckets);
+        if (memo == null || now - memo.computedAt() >= memoMillis) {
+            memo = new Memo(now, rank(buckets));
+            memos.put(buckets, memo);
+        }
+        List<Ranked> ranking = memo.ranking();
+        return ranking.subList(0, Math.min(Math.max(limit, 0), ranking.size()));
+    }
+
+    private List<Ranked> rank(int buckets) {
+        long current = currentBucket();
+        if (redis != null) {
+            try {
+                return rankShared(current, buckets);
+            } catch (RuntimeException e) {
+                log.warn("Trending ranking from Redis unavailable, using local counts: {}", e.getMessage());
+            }
+        }
+        return rankLocal(current, buckets);
+    }
+
+    private List<Ranked> rankShared(long current, int buckets) {
+        List<String> keys = new ArrayList<>(buckets);
+        for (long b = current - buckets + 1; b <= current; b++) {
+            keys.add(key(b));
+        }
+        String destination = KEY_PREFIX + "top:" + buckets + ":" + current + ":" + clock.millis();
+        ZSetOperations<String, String> zset = redis.opsForZSet();
+        zset.unionAndStore(keys.get(0), keys.subList(1, keys.size()), destination);
+        try {
+            Set<ZSetOperations.TypedTuple<String>> top = zset.reverseRangeWithScores(destination, 0, maxResults - 1);
+            List<Ranked> ranking = new ArrayList<>();
+            if (top != null) {
+                for (ZSetOperations.TypedTuple<String> entry : top) {
+                    if (entry.getValue() != null && entry.getScore() != null) {
+                        ranking.add(new Ranked(Long.parseLong(entry.getValue()), entry.getScore().longValue()));
+                    }
+                }
+            }
+            return ranking;
+        } finally {
+            redis.delete(destination);
+        }
+    }
+
+    private List<Ranked> rankLocal(long current, int buckets) {
+        Map<Long, Long> totals = new HashMap<>();
+        for (int i = 0; i < ring.length(); i++) {
+            Slot slot = ring.get(i);
+            if (slot != null && slot.bucket > current - buckets && slot.bucket <= current) {
+                slot.views.forEach((id, adder) -> totals.merge(id, adder.sum(), Long::sum));
+            }
+        }
+        // Bounded min-heap: O(n log k) instead of sorting every viewed product
+        PriorityQueue<Ranked> heap = new PriorityQueue<>(Comparator.comparingLong(Ranked::views));
+        totals.forEach((id, views) -> {
+            heap.offer(new Ranked(id, views));
+            if (heap.size() > maxResults) {
+                heap.poll();
+            }
+        });
+        List<Ranked> ranking = new ArrayList<>(heap);
+        ranking.sort(Comparator.comparingLong(Ranked::views).reversed().thenComparingLong(Ranked::productId));
+        return ranking;
+    }
+
+    /**
+     * Replaces a slot left over from an older lap of the ring. Its counts were flushed
+     * long ago: the ring is a full window wider than the flush interval.
+     */
+    private Slot rotate(int index, Slot stale, long bucket) {
+        if (stale != null && stale.bucket > bucket) {
+            // Read the clock just before a rollover another thread already made; count it there
+            return stale;
+        }
+        Slot fresh = new Slot(bucket);
+        if (ring.compareAndSet(index, stale, fresh)) {
+            return fresh;
+        }
+        Slot winner = ring.get(index);
+        return winner != null && winner.bucket == bucket ? winner : fresh;
+    }
+
+    private long currentBucket() {
+        return clock.millis() / bucketMillis;
+    }
+
+    private static String key(long bucket) {
+        return KEY_PREFIX + bucket;
+    }
+}
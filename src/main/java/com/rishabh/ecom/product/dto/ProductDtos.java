@@ -1,7 +1,13 @@
 package com.rishabh.ecom.product.dto;
 
+import com.rishabh.ecom.product.Product;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
+import org.springframework.data.domain.Page;
+
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
 
 public class ProductDtos {
 
@@ -19,4 +25,89 @@ public class ProductDtos {
       @DecimalMin("0.00") BigDecimal price,
       @Min(0) Integer stockQty
   ) {}
+
+  /**
+   * Listing row: only the columns a product list renders (no description or audit timestamps).
+   */
+  public record Summary(
+      Long id,
+      String sku,
+      String name,
+      BigDecimal price,
+      Integer stockQty
+  ) {}
+
+  /** A product in the trending ranking, with its views over the requested window. */
+  public record Trending(Summary product, long views) {}
+
+  /** A deleted product, as reported by the change feed. */
+  public record Tombstone(Long id, String sku, Instant deletedAt) {}
+
+  /**
+   * One page of the change feed: products created or updated and products deleted since the
+   * token. Pass next as since to resume; hasMore means the next page is already available.
+   */
+  public record Changes(
+      List<Product> updated,
+      List<Tombstone> deleted,
+      String next,
+      boolean hasMore
+  ) {}
+
+  /**
+   * Compact page envelope, used instead of Spring's PageImpl/Pageable JSON.
+   */
+  public record PageResponse<T>(
+      List<T> content,
+      int page,
+      int size,
+      long totalElements,
+      int totalPages
+  ) {
+
+    public static <T> PageResponse<T> of(Page<T> page) {
+      return new PageResponse<>(page.getContent(), page.getNumber(), page.getSize(),
+          page.getTotalElements(), page.getTotalPages());
+    }
+  }
+
+  /**
+   * One bulk patch entry: identified by id or sku; null fields are left unchanged.
+   */
+  public record PatchItem(
+      Long id,
+      @Size(max = 40) String sku,
+      @Size(max = 120) String name,
+      @Size(max = 1000) String description,
+      @DecimalMin("0.00") BigDecimal price,
+      @Min(0) Integer stockQty
+  ) {}
+
+  public record BulkPatch(
+      @NotEmpty List<@Valid PatchItem> items
+  ) {}
+
+  public record BulkDelete(
+      List<Long> ids,
+      List<String> skus
+  ) {}
+
+  public enum BulkStatus { UPDATED, DELETED, NOT_FOUND, INVALID }
+
+  public record BulkItemResult(Long id, String sku, BulkStatus status, String error) {}
+
+  public record BulkResult(
+      int requested,
+      int succeeded,
+      int failed,
+      List<BulkItemResult> results
+  ) {
+
+    public static BulkResult of(List<BulkItemResult> results) {
+      int succeeded = (int) results.stream()
+          .filter(r -> r.status() == BulkStatus.UPDATED || r.status() == BulkStatus.DELETED)
+          .count();
+      return new BulkResult(results.size(), succeeded, results.size() - succeeded, results);
+    }
+  }
 }
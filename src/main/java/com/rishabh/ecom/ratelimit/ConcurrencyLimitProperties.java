@@ -0,0 +1,32 @@
+package com.rishabh.ecom.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * app.concurrency-limit.* settings.
+ * - routes: initial/min/max in-flight requests per route class (search, get-by-id, auth, admin-write,
+ *   bulk-write)
+ * - tolerance: how much short-term latency may exceed the baseline before the limit shrinks
+ * - smoothing: fraction of each computed step applied to the limit
+ * - longWindow: samples averaged into the baseline RTT
+ */
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public record ConcurrencyLimitProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("1.5") double tolerance,
+    @DefaultValue("0.2") double smoothing,
+    @DefaultValue("600") int longWindow,
+    Map<String, Limits> routes
+) {
+
+    public record Limits(int initial, int min, int max) {}
+
+    private static final Limits DEFAULT_LIMITS = new Limits(20, 4, 200);
+
+    public Limits limitsFor(RouteClass routeClass) {
+        return routes != null ? routes.getOrDefault(routeClass.key(), DEFAULT_LIMITS) : DEFAULT_LIMITS;
+    }
+}
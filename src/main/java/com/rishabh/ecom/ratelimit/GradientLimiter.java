@@ -0,0 +1,132 @@
+package com.rishabh.ecom.ratelimit;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to latency, after Netflix's Gradient2.
+ * Compares a short-term RTT average with a long-term baseline: while they match the limit
+ * grows by a small queue allowance, and once short-term latency rises (requests are queueing
+ * somewhere downstream) the limit shrinks in proportion, never below half per step.
+ *
+ * Completions only add their RTT to striped accumulators; no single counter is written on
+ * every release. Once the batch holds SAMPLES_PER_UPDATE samples one completing thread folds
+ * the batch average into the RTT averages and recomputes the limit; if another thread is
+ * still doing so, the batch carries over to the next update.
+ */
+public class GradientLimiter {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final int SAMPLES_PER_UPDATE = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double longWindow;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final LongAdder batchRttNanos = new LongAdder();
+    private final LongAdder batchSamples = new LongAdder();
+    private final LongAccumulator batchMaxInflight = new LongAccumulator(Math::max, 0);
+    private final AtomicBoolean updating = new AtomicBoolean();
+
+    private volatile double limit;
+    // Only read and written by the thread holding updating
+    private double shortRtt;
+    private double longRtt;
+
+    public GradientLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing, int longWindow) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Require 1 <= min <= initial <= max, got "
+                + minLimit + "/" + initialLimit + "/" + maxLimit);
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.longWindow = longWindow;
+    }
+
+    /**
+     * @return the in-flight count this request was admitted at, or -1 if the limit is reached
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= (int) limit) {
+                return -1;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Releases a permit and feeds its round-trip time into the limit.
+     */
+    public void release(long rttNanos, int inflightAtStart) {
+        inflight.decrementAndGet();
+        batchRttNanos.add(rttNanos);
+        batchMaxInflight.accumulate(inflightAtStart);
+        batchSamples.increment();
+        if (batchSamples.sum() >= SAMPLES_PER_UPDATE && updating.compareAndSet(false, true)) {
+            try {
+                update();
+            } finally {
+                updating.set(false);
+            }
+        }
+    }
+
+    /**
+     * Releases a permit without a sample, e.g. when the request failed before doing real work.
+     */
+    public void releaseIgnoringSample() {
+        inflight.decrementAndGet();
+    }
+
+    private void update() {
+        // Not an atomic snapshot: a sample racing the reset can land in the next batch
+        long count = batchSamples.sumThenReset();
+        double rttNanos = (double) batchRttNanos.sumThenReset() / Math.max(count, 1);
+        long inflightAtStart = batchMaxInflight.getThenReset();
+        if (count == 0) {
+            return;
+        }
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return;
+        }
+        // A batch average of n samples moves the averages as far as n single samples would
+        shortRtt += (rttNanos - shortRtt) * Math.min(1, count / SHORT_WINDOW);
+        longRtt += (rttNanos - longRtt) * Math.min(1, count / longWindow);
+
+        // After a latency drop, pull the baseline down faster than the long window would
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        // Traffic isn't using the current limit, so latency says nothing about a higher one
+        if (inflightAtStart < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double queueSize = Math.sqrt(limit);
+        double newLimit = limit * gradient + queueSize;
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inflight() {
+        return inflight.get();
+    }
+}
@@ -0,0 +1,35 @@
+package com.rishabh.ecom.ratelimit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-process bucket store.
+ * ConcurrentHashMap locks per bin only on insert, so lookups of existing buckets
+ * are lock-free and contention is spread across bins. Idle buckets are swept periodically.
+ */
+public class LocalTokenBucketStore implements TokenBucketStore {
+
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public long tryAcquire(String key, RateLimitTier tier) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> tier.newBucket());
+        }
+        return bucket.tryAcquire(System.nanoTime());
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval:PT60S}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,121 @@
+package com.rishabh.ecom.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Limits requests per JWT subject (tiered by role) or per client IP for anonymous callers.
+ * Runs inside the security chain right after {@link com.rishabh.ecom.auth.JwtAuthFilter}
+ * so the authenticated principal is already known. Rejections get 429 with Retry-After and
+ * are counted in ratelimit.rejected tagged by tier; they are only logged at debug, since under
+ * abuse a log line per rejection would flood the logs.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final TokenBucketStore store;
+    private final RateLimitTier anonymousTier;
+    // Highest limit first, so the first role a caller holds is its best tier
+    private final List<RateLimitTier> roleTiers;
+    private final boolean enabled;
+    private final Map<String, Counter> rejections = new HashMap<>();
+
+    public RateLimitFilter(TokenBucketStore store, RateLimitProperties properties, MeterRegistry registry) {
+        this.store = store;
+        this.enabled = properties.enabled();
+        this.anonymousTier = new RateLimitTier("anonymous", properties.anonymousLimit(), properties.period());
+        this.roleTiers = properties.tiers().entrySet().stream()
+            .map(e -> new RateLimitTier(e.getKey(), e.getValue(), properties.period()))
+            .sorted(Comparator.comparingInt(RateLimitTier::capacity).reversed())
+            .collect(Collectors.toUnmodifiableList());
+        for (RateLimitTier tier : roleTiers) {
+            rejections.put(tier.name(), rejectedCounter(registry, tier));
+        }
+        rejections.put(anonymousTier.name(), rejectedCounter(registry, anonymousTier));
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, RateLimitTier tier) {
+        return Counter.builder("ratelimit.rejected").tag("tier", tier.name()).register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return path.startsWith("/api/v1/healthz") ||
+               path.startsWith("/actuator/health") ||
+               path.startsWith("/v3/api-docs") ||
+               path.startsWith("/swagger-ui") ||
+               path.startsWith("/swagger-resources") ||
+               path.startsWith("/webjars");
+    }
+
+    @Override
+    protected void doFilterInternal(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        String key;
+        RateLimitTier tier;
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            tier = tierFor(authentication);
+            key = tier.name() + ":" + authentication.getName();
+        } else {
+            tier = anonymousTier;
+            key = "ip:" + request.getRemoteAddr();
+        }
+
+        long waitNanos = store.tryAcquire(key, tier);
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            rejections.get(tier.name()).increment();
+            logger.debug("Rate limit exceeded for {} on {} - retry after {}s", key, request.getRequestURI(), retryAfterSeconds);
+            response.setStatus(429);
+            response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+            response.setHeader("X-RateLimit-Limit", String.valueOf(tier.capacity()));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\":\"rate_limited\"}");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimitTier tierFor(Authentication authentication) {
+        for (RateLimitTier tier : roleTiers) {
+            for (GrantedAuthority authority : authentication.getAuthorities()) {
+                if (tier.name().equals(authority.getAuthority())) {
+                    return tier;
+                }
+            }
+        }
+        return anonymousTier;
+    }
+}
@@ -0,0 +1,45 @@
+package com.rishabh.ecom.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * app.rate-limit.* settings.
+ * - tiers: requests per period keyed by role; an authenticated caller gets the highest tier it holds
+ * - anonymousLimit: requests per period for callers without a token, keyed by client IP
+ * - store: "local" (per node) or "redis" (shared across nodes)
+ * Limits must be positive and the period non-zero; anything else fails startup.
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("local") String store,
+    @DefaultValue("1m") Duration period,
+    @DefaultValue("100") int anonymousLimit,
+    Map<String, Integer> tiers,
+    @DefaultValue("ratelimit:") String redisKeyPrefix
+) {
+
+    public RateLimitProperties {
+        if (period == null || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("app.rate-limit.period must be positive: " + period);
+        }
+        if (anonymousLimit <= 0) {
+            throw new IllegalArgumentException("app.rate-limit.anonymous-limit must be positive: " + anonymousLimit);
+        }
+        if (tiers != null) {
+            tiers.forEach((role, limit) -> {
+                if (limit == null || limit <= 0) {
+                    throw new IllegalArgumentException("app.rate-limit.tiers." + role + " must be positive: " + limit);
+                }
+            });
+        }
+    }
+
+    public Map<String, Integer> tiers() {
+        return tiers != null ? tiers : Map.of("ROLE_ADMIN", 500, "ROLE_USER", 100);
+    }
+}
@@ -0,0 +1,31 @@
+package com.rishabh.ecom.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Capacity and refill period for one class of caller (e.g. ROLE_ADMIN, ROLE_USER, anonymous IP).
+ */
+public record RateLimitTier(String name, int capacity, Duration period) {
+
+    public RateLimitTier {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Rate limit for " + name + " must be positive: " + capacity);
+        }
+        if (period == null || period.toNanos() < capacity) {
+            throw new IllegalArgumentException("Rate limit period for " + name + " must be positive and at least "
+                + capacity + "ns: " + period);
+        }
+    }
+
+    public long emissionIntervalNanos() {
+        return period.toNanos() / capacity;
+    }
+
+    public long burstToleranceNanos() {
+        return emissionIntervalNanos() * capacity;
+    }
+
+    public TokenBucket newBucket() {
+        return new TokenBucket(emissionIntervalNanos(), burstToleranceNanos());
+    }
+}
@@ -0,0 +1,67 @@
+package com.rishabh.ecom.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Redis-backed bucket store so limits are shared by every node.
+ * Runs the same GCRA as {@link TokenBucket} atomically in a Lua script, using the
+ * Redis server clock so node clock skew doesn't matter. If Redis is unavailable
+ * the request is limited by the node-local store instead of failing; the switch to and
+ * from the fallback is logged once each way, not per request.
+ */
+public class RedisTokenBucketStore implements TokenBucketStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisTokenBucketStore.class);
+
+    // KEYS[1] = bucket key, ARGV[1] = emission interval (us), ARGV[2] = burst tolerance (us)
+    private static final RedisScript<Long> GCRA = new DefaultRedisScript<>("""
+            local t = redis.call('TIME')
+            local now = tonumber(t[1]) * 1000000 + tonumber(t[2])
+            local interval = tonumber(ARGV[1])
+            local burst = tonumber(ARGV[2])
+            local tat = tonumber(redis.call('GET', KEYS[1]) or '0')
+            if tat < now then tat = now end
+            local nextTat = tat + interval
+            local wait = nextTat - now - burst
+            if wait > 0 then return wait end
+            redis.call('SET', KEYS[1], nextTat, 'PX', math.ceil((nextTat - now) / 1000) + 1)
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final String keyPrefix;
+    private final TokenBucketStore fallback;
+    private final AtomicBoolean usingFallback = new AtomicBoolean();
+
+    public RedisTokenBucketStore(StringRedisTemplate redis, String keyPrefix, TokenBucketStore fallback) {
+        this.redis = redis;
+        this.keyPrefix = keyPrefix;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public long tryAcquire(String key, RateLimitTier tier) {
+        try {
+            Long waitMicros = redis.execute(GCRA, List.of(keyPrefix + key),
+                String.valueOf(TimeUnit.NANOSECONDS.toMicros(tier.emissionIntervalNanos())),
+                String.valueOf(TimeUnit.NANOSECONDS.toMicros(tier.burstToleranceNanos())));
+            if (usingFallback.get() && usingFallback.compareAndSet(true, false)) {
+                log.info("Redis rate limit available again, leaving local buckets");
+            }
+            return waitMicros == null ? 0L : TimeUnit.MICROSECONDS.toNanos(waitMicros);
+        } catch (RuntimeException e) {
+            if (usingFallback.compareAndSet(false, true)) {
+                log.warn("Redis rate limit unavailable, using local buckets until it recovers: {}", e.getMessage());
+            }
+            return fallback.tryAcquire(key, tier);
+        }
+    }
+}
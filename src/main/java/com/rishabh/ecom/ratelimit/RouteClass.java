@@ -0,0 +1,53 @@
+package com.rishabh.ecom.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.regex.Pattern;
+
+/**
+ * Route classes that get their own concurrency bulkhead.
+ */
+public enum RouteClass {
+    SEARCH("search"),
+    GET_BY_ID("get-by-id"),
+    AUTH("auth"),
+    ADMIN_WRITE("admin-write"),
+    // Bulk PATCH/DELETE run for minutes; their RTTs would collapse the admin-write gradient
+    BULK_WRITE("bulk-write");
+
+    private static final String PRODUCTS = "/api/v1/products";
+    // Point lookups: by id and by SKU
+    private static final Pattern PRODUCT_BY_ID = Pattern.compile("/api/v1/products/(\\d+|sku/[^/]+)");
+
+    private final String key;
+
+    RouteClass(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Property and metric tag name.
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * @return the route class, or null for routes outside any bulkhead
+     */
+    public static RouteClass of(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.startsWith("/api/v1/auth/")) {
+            return AUTH;
+        }
+        if (!path.equals(PRODUCTS) && !path.startsWith(PRODUCTS + "/")) {
+            return null;
+        }
+        return switch (request.getMethod()) {
+            case "GET", "HEAD" -> PRODUCT_BY_ID.matcher(path).matches() ? GET_BY_ID : SEARCH;
+            case "PATCH", "DELETE" -> path.equals(PRODUCTS) ? BULK_WRITE : ADMIN_WRITE;
+            case "POST", "PUT" -> ADMIN_WRITE;
+            default -> null;
+        };
+    }
+}
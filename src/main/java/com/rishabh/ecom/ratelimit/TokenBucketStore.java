@@ -0,0 +1,12 @@
+package com.rishabh.ecom.ratelimit;
+
+/**
+ * Where bucket state lives: in-process for a single node, or Redis to share limits across nodes.
+ */
+public interface TokenBucketStore {
+
+    /**
+     * @return 0 if the request is admitted, otherwise the nanoseconds the caller should wait
+     */
+    long tryAcquire(String key, RateLimitTier tier);
+}
@@ -0,0 +1,47 @@
+package com.rishabh.ecom.user;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of the roles table, loaded once at startup.
+ * Roles are seeded by Flyway and almost never change, so auth paths resolve
+ * them from memory instead of querying MySQL. The snapshot is swapped
+ * atomically when {@link #reload()} is called after a role change.
+ */
+@Component
+public class RoleRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleRegistry.class);
+
+    private final RoleRepository roleRepository;
+    private volatile Map<String, Role> rolesByName = Map.of();
+
+    public RoleRegistry(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        Map<String, Role> snapshot = roleRepository.findAll().stream()
+            .collect(Collectors.toUnmodifiableMap(Role::getName, Function.identity()));
+        rolesByName = snapshot;
+        log.info("Role registry loaded: {}", snapshot.keySet());
+    }
+
+    public Optional<Role> find(String name) {
+        return Optional.ofNullable(rolesByName.get(name));
+    }
+
+    public Role require(String name) {
+        return find(name).orElseThrow(() -> new IllegalStateException(name + " not found"));
+    }
+}
@@ -1,17 +1,30 @@
 package com.rishabh.ecom.user;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
+/**
+ * Cached in the second-level cache ("users"), with the email natural id ("users-by-email")
+ * and the role set ("user-roles") in their own regions; see hibernate-cache.conf.
+ */
 @Entity
+@EntityListeners(UserCacheInvalidationListener.class)
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true, length = 255)
     private String email;
 
@@ -28,6 +41,7 @@ public class User {
     private LocalDateTime updatedAt;
 
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles")
     @JoinTable(
         name = "user_roles",
         joinColumns = @JoinColumn(name = "user_id"),
@@ -35,6 +49,10 @@ public class User {
     )
     private Set<Role> roles = new HashSet<>();
 
+    // Email as last read from or written to the database, so a change can evict the old cache key
+    @Transient
+    private String storedEmail;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -46,6 +64,14 @@ public class User {
         updatedAt = LocalDateTime.now();
     }
 
+    // Entity listeners run first, so UserCacheInvalidationListener still sees the previous value
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    protected void onStored() {
+        storedEmail = email;
+    }
+
     public User() {}
 
     public User(String email, String password) {
@@ -102,6 +128,10 @@ public class User {
         this.updatedAt = updatedAt;
     }
 
+    String getStoredEmail() {
+        return storedEmail;
+    }
+
     public Set<Role> getRoles() {
         return roles;
     }
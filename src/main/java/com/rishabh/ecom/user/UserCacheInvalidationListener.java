@@ -0,0 +1,87 @@
+package com.rishabh.ecom.user;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * JPA entity listener that keeps {@link UserProfileCache} and {@link RoleRegistry}
+ * coherent with writes to the users and roles tables.
+ * - Evicts after commit, so a concurrent login can't re-cache the row being replaced
+ * - Evicts both the previous and the new email when the email changes
+ * - Role-set changes don't fire @PostUpdate on User; {@link UserRoleCollectionListener}
+ *   routes them here through {@link #onRolesChanged(User)}
+ * - Other nodes are told through {@link UserProfileEvictionBroadcaster} when it is configured
+ * Hibernate resolves this listener through Spring's bean container, so the
+ * registry and broadcaster are looked up lazily to avoid a cycle with the EntityManagerFactory.
+ */
+@Component
+public class UserCacheInvalidationListener {
+
+    private final UserProfileCache profileCache;
+    private final ObjectProvider<RoleRegistry> roleRegistry;
+    private final ObjectProvider<UserProfileEvictionBroadcaster> broadcaster;
+
+    public UserCacheInvalidationListener(
+        UserProfileCache profileCache,
+        ObjectProvider<RoleRegistry> roleRegistry,
+        ObjectProvider<UserProfileEvictionBroadcaster> broadcaster
+    ) {
+        this.profileCache = profileCache;
+        this.roleRegistry = roleRegistry;
+        this.broadcaster = broadcaster;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof User user) {
+            evictUser(user);
+        } else if (entity instanceof Role) {
+            afterCommit(() -> {
+                profileCache.clear();
+                broadcaster.ifAvailable(UserProfileEvictionBroadcaster::publishClear);
+                roleRegistry.ifAvailable(RoleRegistry::reload);
+            });
+        }
+    }
+
+    public void onRolesChanged(User user) {
+        evictUser(user);
+    }
+
+    private void evictUser(User user) {
+        Set<String> emails = new LinkedHashSet<>();
+        if (user.getStoredEmail() != null) {
+            emails.add(user.getStoredEmail());
+        }
+        if (user.getEmail() != null) {
+            emails.add(user.getEmail());
+        }
+        afterCommit(() -> {
+            emails.forEach(profileCache::evict);
+            broadcaster.ifAvailable(b -> b.publishEvict(emails));
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,15 @@
+package com.rishabh.ecom.user;
+
+import java.util.Optional;
+
+/**
+ * Repository fragment for lookups by the email natural id.
+ */
+public interface UserNaturalIdQueries {
+
+    /**
+     * Resolves email → id from the "users-by-email" region and the user (with roles) from the
+     * "users" / "user-roles" regions; only a miss in either goes to MySQL.
+     */
+    Optional<User> findByEmail(String email);
+}
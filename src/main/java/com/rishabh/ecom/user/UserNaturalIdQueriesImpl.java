@@ -0,0 +1,26 @@
+package com.rishabh.ecom.user;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Natural-id lookups through Hibernate's Session API. A derived query (where email = ?)
+ * would always hit the database; bySimpleNaturalId consults the second-level cache first.
+ */
+class UserNaturalIdQueriesImpl implements UserNaturalIdQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(User.class)
+            .loadOptional(email);
+    }
+}
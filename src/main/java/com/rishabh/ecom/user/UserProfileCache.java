@@ -0,0 +1,104 @@
+package com.rishabh.ecom.user;
+
+import com.rishabh.ecom.metrics.CacheOutcome;
+import com.rishabh.ecom.metrics.RequestMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Small in-process cache of user profiles keyed by email.
+ * - Primed by login/signup, which already load the user row
+ * - Bounded by entry count and TTL; once full, one put sweeps expired entries and then
+ *   arbitrary ones down to a low-water mark (90%), so the scan is paid once per batch of puts
+ * - Evicted by {@link UserCacheInvalidationListener} when user or role data changes
+ * - The in-process (l1) tier of the request timer's cache tag
+ */
+@Component
+public class UserProfileCache {
+
+    public record UserProfile(Long id, String email, boolean enabled, Set<String> roles) {
+
+        public static UserProfile of(User user) {
+            Set<String> roleNames = user.getRoles().stream()
+                .map(Role::getName)
+                .collect(Collectors.toUnmodifiableSet());
+            return new UserProfile(user.getId(), user.getEmail(), Boolean.TRUE.equals(user.getEnabled()), roleNames);
+        }
+    }
+
+    private record Entry(UserProfile profile, long expiresAtNanos) {}
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final int lowWaterEntries;
+    private final long ttlNanos;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public UserProfileCache(
+        @Value("${app.auth.profile-cache.max-entries:10000}") int maxEntries,
+        @Value("${app.auth.profile-cache.ttl:5m}") Duration ttl
+    ) {
+        this.maxEntries = maxEntries;
+        this.lowWaterEntries = Math.max(0, Math.min(maxEntries - 1, maxEntries * 9 / 10));
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public Optional<UserProfile> get(String email) {
+        Entry entry = entries.get(email);
+        if (entry == null) {
+            RequestMetrics.recordCache(CacheOutcome.MISS);
+            return Optional.empty();
+        }
+        if (System.nanoTime() - entry.expiresAtNanos() > 0) {
+            entries.remove(email, entry);
+            RequestMetrics.recordCache(CacheOutcome.MISS);
+            return Optional.empty();
+        }
+        RequestMetrics.recordCache(CacheOutcome.L1);
+        return Optional.of(entry.profile());
+    }
+
+    public void put(UserProfile profile) {
+        // Puts racing an eviction go ahead; the map may briefly overshoot by a few entries
+        if (entries.size() >= maxEntries && evicting.compareAndSet(false, true)) {
+            try {
+                makeRoom();
+            } finally {
+                evicting.set(false);
+            }
+        }
+        entries.put(profile.email(), new Entry(profile, System.nanoTime() + ttlNanos));
+    }
+
+    public void evict(String email) {
+        entries.remove(email);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void makeRoom() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> now - entry.expiresAtNanos() > 0);
+        // Still above the low-water mark: drop arbitrary entries rather than grow unbounded
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > lowWaterEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
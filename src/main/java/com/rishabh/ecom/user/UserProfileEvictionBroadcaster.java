@@ -0,0 +1,61 @@
+package com.rishabh.ecom.user;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Fans {@link UserProfileCache} evictions out to every node over Redis pub/sub.
+ * - One message per evicted email; "*" clears the whole cache
+ * - A node also receives its own messages, which repeats an eviction it already made
+ * - Publishing is best-effort: while Redis is down, other nodes fall back to the cache TTL
+ */
+public class UserProfileEvictionBroadcaster implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(UserProfileEvictionBroadcaster.class);
+
+    static final String CLEAR = "*";
+
+    private final StringRedisTemplate redis;
+    private final UserProfileCache profileCache;
+    private final String channel;
+
+    public UserProfileEvictionBroadcaster(StringRedisTemplate redis, UserProfileCache profileCache, String channel) {
+        this.redis = redis;
+        this.profileCache = profileCache;
+        this.channel = channel;
+    }
+
+    public void publishEvict(Collection<String> emails) {
+        for (String email : emails) {
+            publish(email);
+        }
+    }
+
+    public void publishClear() {
+        publish(CLEAR);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (CLEAR.equals(body)) {
+            profileCache.clear();
+        } else {
+            profileCache.evict(body);
+        }
+    }
+
+    private void publish(String body) {
+        try {
+            redis.convertAndSend(channel, body);
+        } catch (RuntimeException e) {
+            log.warn("Could not broadcast profile eviction, other nodes expire it by TTL: {}", e.getMessage());
+        }
+    }
+}
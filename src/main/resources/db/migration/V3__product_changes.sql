@@ -0,0 +1,10 @@
+-- Delta sync (GET /api/v1/products/changes): keyset scans over (updated_at, id)
+CREATE INDEX idx_products_updated_at_id ON products (updated_at, id);
+
+-- One row per deleted product, so sync clients learn about deletes; purged after the retention period
+CREATE TABLE IF NOT EXISTS product_tombstones (
+  product_id  BIGINT       PRIMARY KEY,
+  sku         VARCHAR(64)  NOT NULL,
+  deleted_at  TIMESTAMP(3) NOT NULL,
+  KEY idx_product_tombstones_deleted_at_id (deleted_at, product_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
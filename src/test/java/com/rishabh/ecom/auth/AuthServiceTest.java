@@ -3,8 +3,10 @@ package com.rishabh.ecom.auth;
 import com.rishabh.ecom.auth.AuthDtos.JwtResponse;
 import com.rishabh.ecom.auth.AuthDtos.Me;
 import com.rishabh.ecom.user.Role;
+import com.rishabh.ecom.user.RoleRegistry;
 import com.rishabh.ecom.user.User;
-import com.rishabh.ecom.user.RoleRepository;
+import com.rishabh.ecom.user.UserProfileCache;
+import com.rishabh.ecom.user.UserProfileCache.UserProfile;
 import com.rishabh.ecom.user.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -32,7 +34,10 @@ class AuthServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private RoleRepository roleRepository;
+    private RoleRegistry roleRegistry;
+
+    @Mock
+    private UserProfileCache profileCache;
 
     @Mock
     private PasswordEncoder passwordEncoder;
@@ -75,7 +80,7 @@ class AuthServiceTest {
         String token = "jwt-token";
 
         when(userRepository.existsByEmail(email)).thenReturn(false);
-        when(roleRepository.findByName("ROLE_USER")).thenReturn(Optional.of(userRole));
+        when(roleRegistry.require("ROLE_USER")).thenReturn(userRole);
         when(passwordEncoder.encode(password)).thenReturn(encodedPassword);
         when(userRepository.save(any(User.class))).thenReturn(testUser);
         when(jwtService.generateToken(anyString(), any(Set.class))).thenReturn(token);
@@ -92,6 +97,7 @@ class AuthServiceTest {
         verify(userRepository, times(1)).existsByEmail(email);
         verify(userRepository, times(1)).save(any(User.class));
         verify(jwtService, times(1)).generateToken(anyString(), any(Set.class));
+        verify(profileCache, times(1)).put(any(UserProfile.class));
     }
 
     @Test
@@ -190,7 +196,57 @@ class AuthServiceTest {
     }
 
     @Test
-    @DisplayName("Should get current user info")
+    @DisplayName("Should get current user info from cached profile when token carries no roles")
+    void shouldGetCurrentUserInfoFromCachedProfile() {
+        // Given
+        String email = "test@example.com";
+        UserProfile profile = new UserProfile(1L, email, true, Set.of("ROLE_USER"));
+
+        when(profileCache.get(email)).thenReturn(Optional.of(profile));
+
+        // When
+        Me me = authService.me(email, Set.of());
+
+        // Then
+        assertThat(me.email()).isEqualTo(email);
+        assertThat(me.roles()).containsExactly("ROLE_USER");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should not let cached roles widen the roles in the token")
+    void shouldPreferTokenRolesOverCachedProfile() {
+        // Given
+        String email = "test@example.com";
+        UserProfile profile = new UserProfile(1L, email, true, Set.of("ROLE_USER", "ROLE_ADMIN"));
+        lenient().when(profileCache.get(email)).thenReturn(Optional.of(profile));
+
+        // When
+        Me me = authService.me(email, Set.of("ROLE_USER"));
+
+        // Then
+        assertThat(me.roles()).containsExactly("ROLE_USER");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should get current user info from token roles without hitting the database")
+    void shouldGetCurrentUserInfoFromTokenRoles() {
+        // Given
+        String email = "test@example.com";
+
+        // When
+        Me me = authService.me(email, Set.of("ROLE_USER"));
+
+        // Then
+        assertThat(me).isNotNull();
+        assertThat(me.email()).isEqualTo(email);
+        assertThat(me.roles()).containsExactly("ROLE_USER");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should load and cache user info when token carries no roles")
     void shouldGetCurrentUserInfo() {
         // Given
         String email = "test@example.com";
@@ -198,13 +254,14 @@ class AuthServiceTest {
         when(userRepository.findByEmail(email)).thenReturn(Optional.of(testUser));
 
         // When
-        Me me = authService.me(email);
+        Me me = authService.me(email, Set.of());
 
         // Then
         assertThat(me).isNotNull();
         assertThat(me.email()).isEqualTo(email);
         assertThat(me.roles()).contains("ROLE_USER");
         verify(userRepository, times(1)).findByEmail(email);
+        verify(profileCache, times(1)).put(any(UserProfile.class));
     }
 
     @Test
@@ -216,10 +273,9 @@ class AuthServiceTest {
         when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
 
         // When/Then
-        assertThatThrownBy(() -> authService.me(email))
+        assertThatThrownBy(() -> authService.me(email, Set.of()))
             .isInstanceOf(IllegalArgumentException.class)
             .hasMessage("User not found");
         verify(userRepository, times(1)).findByEmail(email);
     }
 }
-
@@ -0,0 +1,176 @@
+package com.rishabh.ecom.cache;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ResilientCache Unit Tests")
+class ResilientCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CircuitBreaker breaker = CircuitBreaker.ofDefaults("redisCache");
+    private final List<Runnable> queuedWrites = new ArrayList<>();
+
+    @Test
+    @DisplayName("Should answer reads as misses without calling Redis while the breaker is open")
+    void shouldBypassWhenOpen() {
+        // Given
+        Cache redis = mock(Cache.class);
+        when(redis.getName()).thenReturn("products");
+        ResilientCache cache = new ResilientCache(redis, breaker, queuedWrites::add, registry);
+        breaker.transitionToOpenState();
+
+        // When
+        Cache.ValueWrapper value = cache.get("k");
+        cache.put("k", "v");
+
+        // Then
+        assertThat(value).isNull();
+        assertThat(queuedWrites).isEmpty();
+        verify(redis, never()).get(any());
+        assertThat(count("get", "bypassed")).isEqualTo(1);
+        assertThat(count("put", "bypassed")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should treat a Redis failure as a miss and record it on the breaker")
+    void shouldFallBackOnError() {
+        // Given
+        Cache redis = mock(Cache.class);
+        when(redis.getName()).thenReturn("products");
+        when(redis.get("k")).thenThrow(new RedisConnectionFailureException("down"));
+        ResilientCache cache = new ResilientCache(redis, breaker, queuedWrites::add, registry);
+
+        // When
+        Cache.ValueWrapper value = cache.get("k");
+
+        // Then
+        assertThat(value).isNull();
+        assertThat(breaker.getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+        assertThat(count("get", "error")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should store values off the calling thread")
+    void shouldPutAsynchronously() {
+        // Given
+        ConcurrentMapCache redis = new ConcurrentMapCache("products");
+        ResilientCache cache = new ResilientCache(redis, breaker, queuedWrites::add, registry);
+
+        // When
+        cache.put("k", "v");
+
+        // Then
+        assertThat(redis.get("k")).isNull();
+        queuedWrites.forEach(Runnable::run);
+        assertThat(redis.get("k").get()).isEqualTo("v");
+    }
+
+    @Test
+    @DisplayName("Should skip a queued put once the key has been evicted")
+    void shouldSkipPutQueuedBeforeEvict() {
+        // Given: a read-through put of the old product is still queued
+        ConcurrentMapCache redis = new ConcurrentMapCache("productById");
+        ResilientCache cache = new ResilientCache(redis, breaker, queuedWrites::add, registry);
+        cache.put(1L, "old");
+
+        // When: the update evicts, then the writer drains
+        cache.evict(1L);
+        queuedWrites.forEach(Runnable::run);
+
+        // Then
+        assertThat(redis.get(1L)).isNull();
+        assertThat(count("put", "skipped")).isEqualTo(1);
+        assertThat(breaker.getMetrics().getNumberOfBufferedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should undo a put that raced an eviction")
+    void shouldUndoPutRacingEvict() {
+        // Given: the eviction lands while the writer is inside put()
+        ConcurrentMapCache store = new ConcurrentMapCache("productById");
+        Cache redis = mock(Cache.class);
+        when(redis.getName()).thenReturn("productById");
+        ResilientCache[] holder = new ResilientCache[1];
+        doAnswer(invocation -> {
+            store.put(invocation.getArgument(0), invocation.getArgument(1));
+            holder[0].evict(invocation.getArgument(0));
+            return null;
+        }).when(redis).put(any(), any());
+        doAnswer(invocation -> {
+            store.evict(invocation.getArgument(0));
+            return null;
+        }).when(redis).evict(any());
+        holder[0] = new ResilientCache(redis, breaker, queuedWrites::add, registry);
+
+        // When
+        holder[0].put(1L, "old");
+        queuedWrites.forEach(Runnable::run);
+
+        // Then
+        assertThat(store.get(1L)).isNull();
+        assertThat(count("put", "skipped")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should still store puts for keys that were not evicted")
+    void shouldKeepPutsForOtherKeys() {
+        // Given
+        ConcurrentMapCache redis = new ConcurrentMapCache("productById");
+        ResilientCache cache = new ResilientCache(redis, breaker, queuedWrites::add, registry);
+        cache.evict(1L);
+        cache.put(1L, "fresh");
+
+        // When
+        queuedWrites.forEach(Runnable::run);
+
+        // Then
+        assertThat(redis.get(1L).get()).isEqualTo("fresh");
+    }
+
+    @Test
+    @DisplayName("Should clear the cache before the next read after an invalidation was missed")
+    void shouldClearAfterMissedInvalidation() {
+        // Given
+        ConcurrentMapCache store = new ConcurrentMapCache("products");
+        store.put("k", "stale");
+        Cache redis = mock(Cache.class);
+        when(redis.getName()).thenReturn("products");
+        doThrow(new RedisConnectionFailureException("down")).when(redis).evict("k");
+        when(redis.get("k")).thenAnswer(invocation -> store.get("k"));
+        doAnswer(invocation -> {
+            store.clear();
+            return null;
+        }).when(redis).clear();
+        ResilientCache cache = new ResilientCache(redis, breaker, queuedWrites::add, registry);
+
+        // When
+        cache.evict("k");
+        Cache.ValueWrapper first = cache.get("k");
+
+        // Then
+        assertThat(first).isNull();
+        assertThat(cache.hasMissedInvalidation()).isFalse();
+        assertThat(store.get("k")).isNull();
+    }
+
+    private double count(String op, String outcome) {
+        return registry.get("cache.redis.operations").tags("op", op, "outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,63 @@
+package com.rishabh.ecom.common;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RequestDeadlineFilter Unit Tests")
+class RequestDeadlineFilterTest {
+
+    private final RequestDeadlineFilter filter =
+        new RequestDeadlineFilter(Duration.ofSeconds(10), Duration.ofSeconds(30), Duration.ofMinutes(5));
+    private final AtomicLong remainingMillis = new AtomicLong();
+    private final FilterChain chain = (request, response) ->
+        remainingMillis.set(TimeUnit.NANOSECONDS.toMillis(RequestDeadline.remainingNanos()));
+
+    @Test
+    @DisplayName("Should give bulk product writes the bulk budget by default and as their cap")
+    void shouldUseBulkBudgetForBulkWrites() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/api/v1/products");
+        request.addHeader(RequestDeadline.TIMEOUT_HEADER, "600000");
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Then: capped at 5 minutes, well past the 30s cap for other routes
+        assertThat(remainingMillis.get()).isBetween(Duration.ofMinutes(4).toMillis(), Duration.ofMinutes(5).toMillis());
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/api/v1/products"), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(remainingMillis.get()).isGreaterThan(Duration.ofMinutes(4).toMillis());
+    }
+
+    @Test
+    @DisplayName("Should keep the normal budget for single-product writes and reads")
+    void shouldUseDefaultBudgetElsewhere() throws Exception {
+        // When
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/api/v1/products/7"), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(remainingMillis.get()).isBetween(9_000L, 10_000L);
+
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products");
+        request.addHeader(RequestDeadline.TIMEOUT_HEADER, "600000");
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(remainingMillis.get()).isBetween(29_000L, 30_000L);
+    }
+}
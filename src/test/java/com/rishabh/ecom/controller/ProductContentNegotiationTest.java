@@ -0,0 +1,97 @@
+package com.rishabh.ecom.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rishabh.ecom.config.BinaryFormatsConfig;
+import com.rishabh.ecom.product.Product;
+import com.rishabh.ecom.product.ProductController;
+import com.rishabh.ecom.product.ProductService;
+import com.rishabh.ecom.product.ProductViewCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Product content negotiation")
+class ProductContentNegotiationTest {
+
+    @Mock
+    private ProductService productService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        Product product = Product.builder()
+            .id(1L)
+            .name("Lamp")
+            .price(new BigDecimal("19.90"))
+            .sku("LAMP-1")
+            .stockQty(3)
+            .createdAt(Instant.parse("2025-01-01T00:00:00Z"))
+            .updatedAt(Instant.parse("2025-01-02T00:00:00Z"))
+            .build();
+        when(productService.getProductById(1L)).thenReturn(Optional.of(product));
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProductController(productService, null, null, mock(ProductViewCounter.class), null))
+            .setMessageConverters(
+                new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build()),
+                new MappingJackson2CborHttpMessageConverter(BinaryFormatsConfig.cborMapper(Jackson2ObjectMapperBuilder.json())),
+                new MappingJackson2SmileHttpMessageConverter(BinaryFormatsConfig.smileMapper(Jackson2ObjectMapperBuilder.json())))
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should default to JSON")
+    void shouldDefaultToJson() throws Exception {
+        mockMvc.perform(get("/api/v1/products/1").accept(MediaType.ALL))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("Should encode CBOR when asked")
+    void shouldEncodeCbor() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/products/1").accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+            .andReturn();
+
+        // Then
+        ObjectMapper cbor = BinaryFormatsConfig.cborMapper(Jackson2ObjectMapperBuilder.json());
+        JsonNode product = cbor.readTree(result.getResponse().getContentAsByteArray());
+        assertThat(product.get("sku").asText()).isEqualTo("LAMP-1");
+        assertThat(product.get("price").decimalValue()).isEqualByComparingTo("19.90");
+    }
+
+    @Test
+    @DisplayName("Should encode Smile when asked")
+    void shouldEncodeSmile() throws Exception {
+        mockMvc.perform(get("/api/v1/products/1").accept(BinaryFormatsConfig.SMILE_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.parseMediaType(BinaryFormatsConfig.SMILE_VALUE)));
+    }
+}
@@ -1,8 +1,10 @@
 package com.rishabh.ecom.controller;
 
 import com.rishabh.ecom.product.Product;
+import com.rishabh.ecom.product.ProductBulkService;
 import com.rishabh.ecom.product.ProductController;
 import com.rishabh.ecom.product.ProductService;
+import com.rishabh.ecom.product.ProductViewCounter;
 import com.rishabh.ecom.product.dto.ProductDtos;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,9 +13,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -34,6 +33,12 @@ class ProductControllerTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private ProductBulkService productBulkService;
+
+    @Mock
+    private ProductViewCounter productViewCounter;
+
     @InjectMocks
     private ProductController productController;
 
@@ -56,18 +61,42 @@ class ProductControllerTest {
     @DisplayName("Should search products")
     void shouldSearchProducts() {
         // Given
-        Page<Product> page = new PageImpl<>(List.of(testProduct), PageRequest.of(0, 20), 1);
+        ProductDtos.Summary summary = new ProductDtos.Summary(1L, "CTRL-001", "Controller Test Product",
+                new BigDecimal("99.99"), 10);
+        ProductDtos.PageResponse<ProductDtos.Summary> page = new ProductDtos.PageResponse<>(List.of(summary), 0, 20, 1, 1);
         when(productService.search(any(), eq(0), eq(20), any(), any())).thenReturn(page);
 
         // When
-        Page<Product> result = productController.search(null, 0, 20, "createdAt", "desc", null);
+        ProductDtos.PageResponse<ProductDtos.Summary> result = productController.search(null, 0, 20, "createdAt", "desc", null);
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.totalElements()).isEqualTo(1);
         verify(productService, times(1)).search(any(), eq(0), eq(20), any(), any());
     }
 
+    @Test
+    @DisplayName("Should load trending products in one batch and keep the ranking order")
+    void shouldLoadTrendingInOneBatch() {
+        // Given: product 2 was deleted after it was viewed
+        Product third = new Product();
+        third.setId(3L);
+        third.setSku("CTRL-003");
+        when(productViewCounter.top(any(), eq(3))).thenReturn(List.of(
+                new ProductViewCounter.Ranked(3L, 30), new ProductViewCounter.Ranked(2L, 20),
+                new ProductViewCounter.Ranked(1L, 10)));
+        when(productService.getProductsById(List.of(3L, 2L, 1L))).thenReturn(List.of(third, testProduct));
+
+        // When
+        List<ProductDtos.Trending> result = productController.trending(60, 3);
+
+        // Then
+        assertThat(result).extracting(t -> t.product().id()).containsExactly(3L, 1L);
+        assertThat(result).extracting(ProductDtos.Trending::views).containsExactly(30L, 10L);
+        verify(productService, never()).getProductById(any());
+    }
+
     @Test
     @DisplayName("Should get product by ID")
     void shouldGetProductById() {
@@ -82,6 +111,7 @@ class ProductControllerTest {
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getId()).isEqualTo(1L);
         assertThat(response.getHeaders().getETag()).isNotNull();
+        verify(productViewCounter).record(1L);
     }
 
     @Test
@@ -172,5 +202,25 @@ class ProductControllerTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
         verify(productService, times(1)).deleteProduct(1L);
     }
-}
 
+    @Test
+    @DisplayName("Should return per-item results for bulk update")
+    void shouldBulkUpdate() {
+        // Given
+        List<ProductDtos.PatchItem> items = List.of(
+                new ProductDtos.PatchItem(1L, null, null, null, new BigDecimal("89.99"), null),
+                new ProductDtos.PatchItem(null, "MISSING-1", null, null, null, 5));
+        ProductDtos.BulkResult result = ProductDtos.BulkResult.of(List.of(
+                new ProductDtos.BulkItemResult(1L, "CTRL-001", ProductDtos.BulkStatus.UPDATED, null),
+                new ProductDtos.BulkItemResult(null, "MISSING-1", ProductDtos.BulkStatus.NOT_FOUND, null)));
+        when(productBulkService.patch(items)).thenReturn(result);
+
+        // When
+        ResponseEntity<ProductDtos.BulkResult> response = productController.bulkUpdate(new ProductDtos.BulkPatch(items));
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().succeeded()).isEqualTo(1);
+        assertThat(response.getBody().failed()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,75 @@
+package com.rishabh.ecom.db;
+
+import com.rishabh.ecom.common.RequestDeadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("DeadlineAwareDataSource Unit Tests")
+class DeadlineAwareDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+    private final DeadlineAwareDataSource dataSource = new DeadlineAwareDataSource(target);
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    @DisplayName("Should set the query timeout from the remaining budget, rounded up to seconds")
+    void shouldDeriveQueryTimeout() throws Exception {
+        // Given
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("select 1")).thenReturn(statement);
+        RequestDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1500));
+
+        // When
+        dataSource.getConnection().prepareStatement("select 1");
+
+        // Then
+        verify(statement).setQueryTimeout(2);
+    }
+
+    @Test
+    @DisplayName("Should leave statements untouched outside a request")
+    void shouldNotTimeoutWithoutDeadline() throws Exception {
+        // Given
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("select 1")).thenReturn(statement);
+
+        // When
+        dataSource.getConnection().prepareStatement("select 1");
+
+        // Then
+        verify(statement, never()).setQueryTimeout(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should refuse new statements once the deadline has passed")
+    void shouldRefuseAfterDeadline() throws Exception {
+        // Given
+        when(target.getConnection()).thenReturn(connection);
+        RequestDeadline.set(System.nanoTime() - 1);
+
+        // When / Then
+        Connection wrapped = dataSource.getConnection();
+        assertThatThrownBy(() -> wrapped.prepareStatement("select 1")).isInstanceOf(SQLTimeoutException.class);
+        verify(connection, never()).prepareStatement("select 1");
+    }
+}
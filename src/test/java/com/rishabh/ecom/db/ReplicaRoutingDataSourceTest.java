@@ -0,0 +1,187 @@
+package com.rishabh.ecom.db;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ReplicaRoutingDataSource Unit Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replicaA = mock(DataSource.class);
+    private final DataSource replicaB = mock(DataSource.class);
+    private final ReplicaTarget targetA = new ReplicaTarget("a", replicaA);
+    private final ReplicaTarget targetB = new ReplicaTarget("b", replicaB);
+    private final ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(
+        primary, List.of(targetA, targetB), Duration.ofSeconds(5), Duration.ofSeconds(1), new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(primary.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        when(replicaA.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        when(replicaB.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        targetA.updateLag(0);
+        targetB.updateLag(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        ReadConsistency.clear();
+    }
+
+    @Test
+    @DisplayName("Should send read-only work to the replica with the fewest outstanding connections")
+    void shouldPickLeastBusyReplica() throws Exception {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Connection held = router.getConnection();
+
+        // When
+        router.getConnection();
+
+        // Then: one connection each, whichever replica the rotation started on
+        verify(replicaA).getConnection();
+        verify(replicaB).getConnection();
+        held.close();
+        assertThat(targetA.outstanding() + targetB.outstanding()).isEqualTo(1);
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should skip lagging or unmeasured replicas and fall back to the primary")
+    void shouldExcludeLaggingReplicas() throws Exception {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        targetA.updateLag(6_000);
+        targetB.updateLag(ReplicaTarget.UNKNOWN_LAG);
+
+        // When
+        router.getConnection();
+
+        // Then
+        verify(primary).getConnection();
+        verify(replicaA, never()).getConnection();
+        verify(replicaB, never()).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should read from the primary until replicas have caught up with the client's write")
+    void shouldHonourConsistencyToken() throws Exception {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        targetA.updateLag(2_000);
+        targetB.updateLag(2_000);
+        ReadConsistency.requireFreshAsOf(System.currentTimeMillis());
+
+        // When
+        router.getConnection();
+
+        // Then
+        verify(primary).getConnection();
+
+        // Given: a write old enough for a replica 2s behind, plus the 1s margin
+        ReadConsistency.requireFreshAsOf(System.currentTimeMillis() - 4_000);
+
+        // When
+        router.getConnection();
+
+        // Then
+        assertThat(targetA.outstanding() + targetB.outstanding()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should stamp a consistency token when a transactional write connection is released")
+    void shouldRecordWriteToken() throws Exception {
+        // Given
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        long before = System.currentTimeMillis();
+        Connection raw = mock(Connection.class);
+        when(raw.prepareStatement("UPDATE products SET stock_qty = 1")).thenReturn(mock(PreparedStatement.class));
+        when(primary.getConnection()).thenReturn(raw);
+
+        // When
+        Connection connection = router.getConnection();
+        connection.prepareStatement("UPDATE products SET stock_qty = 1").executeUpdate();
+        assertThat(ReadConsistency.lastWriteToken()).isNull();
+        connection.close();
+
+        // Then
+        assertThat(Long.parseLong(ReadConsistency.lastWriteToken())).isGreaterThanOrEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Should not stamp a token for a read-write transaction that only read")
+    void shouldNotRecordTokenWithoutWrite() throws Exception {
+        // Given
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        Connection raw = mock(Connection.class);
+        when(raw.prepareStatement("SELECT 1")).thenReturn(mock(PreparedStatement.class));
+        when(primary.getConnection()).thenReturn(raw);
+
+        // When
+        Connection connection = router.getConnection();
+        connection.prepareStatement("SELECT 1").executeQuery();
+        connection.close();
+
+        // Then
+        assertThat(ReadConsistency.lastWriteToken()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should clamp future tokens to now and ignore tokens older than the lag window")
+    void shouldBoundClientTokens() {
+        // Given
+        Duration window = Duration.ofSeconds(6);
+        long now = 1_000_000;
+
+        // Then
+        assertThat(ReadConsistency.parseToken(Long.toString(now + 86_400_000), window, now)).isEqualTo(now);
+        assertThat(ReadConsistency.parseToken(Long.toString(now - 2_000), window, now)).isEqualTo(now - 2_000);
+        assertThat(ReadConsistency.parseToken(Long.toString(now - 7_000), window, now)).isNull();
+        assertThat(ReadConsistency.parseToken("1", window, now)).isNull();
+        assertThat(ReadConsistency.parseToken("soon", window, now)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should treat a replica as fresh only once its lag puts it past the given time")
+    void shouldJudgeFreshness() {
+        // Given
+        ReplicaTarget replica = new ReplicaTarget("c", mock(DataSource.class));
+
+        // Then
+        assertThat(replica.isFreshAsOf(0, 10_000)).isFalse();
+        replica.updateLag(3_000);
+        assertThat(replica.isFreshAsOf(6_000, 10_000)).isTrue();
+        assertThat(replica.isFreshAsOf(7_000, 10_000)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should route credentialed connections like plain ones")
+    void shouldDelegateCredentials() throws Exception {
+        // Given
+        when(primary.getConnection("u", "p")).thenReturn(mock(Connection.class));
+
+        // When
+        router.getConnection("u", "p");
+
+        // Then
+        verify(primary).getConnection("u", "p");
+    }
+}
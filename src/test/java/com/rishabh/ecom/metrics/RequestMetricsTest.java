@@ -0,0 +1,49 @@
+package com.rishabh.ecom.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RequestMetrics Unit Tests")
+class RequestMetricsTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestMetrics.clear();
+    }
+
+    @Test
+    @DisplayName("Should charge a batch query run on another thread to every request it serves")
+    void shouldChargeSharedQueriesToCallers() {
+        // Given
+        RequestMetrics.Context first = RequestMetrics.begin();
+        RequestMetrics.Context second = RequestMetrics.begin();
+        RequestMetrics.recordQuery();
+
+        // When: a dispatcher thread runs one statement for both requests
+        CompletableFuture.runAsync(() -> RequestMetrics.runOnBehalfOf(
+            Arrays.asList(first, second, second, null), RequestMetrics::recordQuery)).join();
+
+        // Then
+        assertThat(first.dbQueries.get()).isEqualTo(1);
+        assertThat(second.dbQueries.get()).isEqualTo(2);
+        assertThat(RequestMetrics.current()).isSameAs(second);
+    }
+
+    @Test
+    @DisplayName("Should bucket query counts and result sizes into a fixed set of tag values")
+    void shouldBucketTags() {
+        // When / Then
+        assertThat(RequestMetrics.queryCountTag(0)).isEqualTo("0");
+        assertThat(RequestMetrics.queryCountTag(1)).isEqualTo("1");
+        assertThat(RequestMetrics.queryCountTag(57)).isEqualTo("2+");
+        assertThat(RequestMetrics.resultSizeTag(-1)).isEqualTo("none");
+        assertThat(RequestMetrics.resultSizeTag(20)).isEqualTo("2-20");
+        assertThat(RequestMetrics.resultSizeTag(200)).isEqualTo("21+");
+    }
+}
@@ -0,0 +1,106 @@
+package com.rishabh.ecom.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("SloTracker Unit Tests")
+class SloTrackerTest {
+
+    private static final String ROUTE = "GET /api/v1/products/{id}";
+
+    private final AtomicLong clock = new AtomicLong(0);
+    private final SloTracker tracker = new SloTracker(new SloProperties(
+        Duration.ofMinutes(1),
+        List.of(Duration.ofMinutes(5), Duration.ofHours(1)),
+        List.of(new SloProperties.Objective("product-get", ROUTE, Duration.ofMillis(100), 0.99))
+    ), clock::get);
+
+    @Test
+    @DisplayName("Should count 5xx and slow requests against the budget")
+    void shouldCountBadEvents() {
+        // Given
+        for (int i = 0; i < 97; i++) {
+            tracker.record(ROUTE, 200, TimeUnit.MILLISECONDS.toNanos(20));
+        }
+        tracker.record(ROUTE, 503, TimeUnit.MILLISECONDS.toNanos(5));
+        tracker.record(ROUTE, 200, TimeUnit.MILLISECONDS.toNanos(250));
+        tracker.record(ROUTE, 404, TimeUnit.MILLISECONDS.toNanos(5));
+
+        // When
+        SloTracker.Window window = tracker.status().get(0).windows().get("5m");
+
+        // Then
+        assertThat(window.total()).isEqualTo(100);
+        assertThat(window.bad()).isEqualTo(2);
+        assertThat(window.burnRate()).isCloseTo(2.0, within(1e-9));
+        assertThat(window.budgetRemaining()).isCloseTo(-1.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should drop buckets that fall out of a window")
+    void shouldExpireOldBuckets() {
+        // Given
+        tracker.record(ROUTE, 500, 0);
+        clock.set(Duration.ofMinutes(10).toMillis());
+        tracker.record(ROUTE, 200, 0);
+
+        // When
+        SloTracker.SloStatus status = tracker.status().get(0);
+
+        // Then
+        assertThat(status.windows().get("5m").total()).isEqualTo(1);
+        assertThat(status.windows().get("5m").bad()).isZero();
+        assertThat(status.windows().get("1h").total()).isEqualTo(2);
+        assertThat(status.windows().get("sinceStart").bad()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not lose counts when threads race to open a bucket")
+    void shouldCountConcurrentRecords() throws Exception {
+        // Given: the first bucket of a new lap, opened by whichever thread gets there first
+        clock.set(Duration.ofHours(1).toMillis());
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        // When
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                writers.add(pool.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        tracker.record(ROUTE, 200, 0);
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        // Then
+        assertThat(tracker.status().get(0).windows().get("5m").total()).isEqualTo(40_000);
+    }
+
+    @Test
+    @DisplayName("Should ignore routes without an objective")
+    void shouldIgnoreUntrackedRoutes() {
+        // When
+        tracker.record("GET /api/v1/cache/stats", 500, 0);
+
+        // Then
+        assertThat(tracker.status().get(0).windows().get("1h").total()).isZero();
+    }
+}
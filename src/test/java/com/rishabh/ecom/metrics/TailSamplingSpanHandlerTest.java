@@ -0,0 +1,131 @@
+package com.rishabh.ecom.metrics;
+
+import brave.Span;
+import brave.Tracer;
+import brave.Tracing;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TailSamplingSpanHandler Unit Tests")
+class TailSamplingSpanHandlerTest {
+
+    private final List<MutableSpan> exported = new ArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SpanHandler exporter = new SpanHandler() {
+        @Override
+        public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+            exported.add(span);
+            return true;
+        }
+    };
+    private final TailSamplingSpanHandler handler = new TailSamplingSpanHandler(List.of(exporter),
+        new TailSamplingProperties(true, 0.0, Duration.ofMillis(500), 100, 256,
+            new TailSamplingProperties.FileReporter(false, "unused", 10)), registry);
+    private final Tracing tracing = Tracing.newBuilder().addSpanHandler(handler).build();
+    private final Tracer tracer = tracing.tracer();
+
+    @AfterEach
+    void tearDown() {
+        tracing.close();
+    }
+
+    @Test
+    @DisplayName("Should drop a fast, successful trace outside the base rate")
+    void shouldDropOrdinaryTrace() {
+        // When
+        trace(10_000, null);
+
+        // Then
+        assertThat(exported).isEmpty();
+        assertThat(registry.get("tracing.tail.traces").tag("decision", "dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should export the whole trace when a child span fails")
+    void shouldKeepErrorTrace() {
+        // When
+        trace(10_000, new IllegalStateException("boom"));
+
+        // Then
+        assertThat(exported).extracting(MutableSpan::name).containsExactly("child", "root");
+    }
+
+    @Test
+    @DisplayName("Should export a trace whose root exceeds the slow threshold")
+    void shouldKeepSlowTrace() {
+        // When
+        trace(600_000, null);
+
+        // Then
+        assertThat(exported).hasSize(2);
+        assertThat(registry.get("tracing.tail.traces").tag("decision", "kept_slow").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should export each kept span exactly once when traces finish concurrently")
+    void shouldExportOnceUnderConcurrency() throws Exception {
+        // Given: a ring larger than all traces, so a descheduled trace can't be evicted
+        Queue<MutableSpan> concurrentExports = new ConcurrentLinkedQueue<>();
+        TailSamplingSpanHandler concurrentHandler = new TailSamplingSpanHandler(List.of(new SpanHandler() {
+            @Override
+            public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+                concurrentExports.add(span);
+                return true;
+            }
+        }), new TailSamplingProperties(true, 0.0, Duration.ofMillis(500), 4_096, 256,
+            new TailSamplingProperties.FileReporter(false, "unused", 10)), registry);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        // When
+        try (Tracing concurrentTracing = Tracing.newBuilder().addSpanHandler(concurrentHandler).build()) {
+            Tracer concurrentTracer = concurrentTracing.tracer();
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                workers.add(pool.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        Span root = concurrentTracer.newTrace().name("root").start();
+                        concurrentTracer.newChild(root.context()).name("child").error(new IllegalStateException()).start().finish();
+                        root.finish();
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        // Then
+        assertThat(concurrentExports).hasSize(4_000);
+        assertThat(concurrentExports).extracting(MutableSpan::id).doesNotHaveDuplicates();
+        assertThat(registry.get("tracing.tail.traces").tag("decision", "kept_error").counter().count()).isEqualTo(2_000);
+    }
+
+    private void trace(long rootMicros, Throwable childError) {
+        long start = 1_000_000L;
+        Span root = tracer.newTrace().name("root").start(start);
+        Span child = tracer.newChild(root.context()).name("child").start(start + 10);
+        if (childError != null) {
+            child.error(childError);
+        }
+        child.finish(start + 20);
+        root.finish(start + rootMicros);
+    }
+}
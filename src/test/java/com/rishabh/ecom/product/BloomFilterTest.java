@@ -0,0 +1,50 @@
+package com.rishabh.ecom.product;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BloomFilter Unit Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should never report an added id or SKU as absent")
+    void shouldHaveNoFalseNegatives() {
+        // Given
+        BloomFilter filter = new BloomFilter(20_000, 0.01);
+
+        // When
+        for (long id = 1; id <= 10_000; id++) {
+            filter.put(BloomFilter.mix(id));
+            filter.put(BloomFilter.hash("SKU-" + id));
+        }
+
+        // Then
+        for (long id = 1; id <= 10_000; id++) {
+            assertThat(filter.mightContain(BloomFilter.mix(id))).isTrue();
+            assertThat(filter.mightContain(BloomFilter.hash("SKU-" + id))).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the false-positive rate near the configured target")
+    void shouldMeetFalsePositiveRate() {
+        // Given
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (long id = 1; id <= 10_000; id++) {
+            filter.put(BloomFilter.mix(id));
+        }
+
+        // When
+        int falsePositives = 0;
+        for (long id = 1_000_001; id <= 1_100_000; id++) {
+            if (filter.mightContain(BloomFilter.mix(id))) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+}
@@ -0,0 +1,91 @@
+package com.rishabh.ecom.product;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("CatalogStats Unit Tests")
+class CatalogStatsTest {
+
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    private final CatalogStats stats = new CatalogStats(jdbc);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply create, update and delete as deltas")
+    void shouldTrackWritesIncrementally() {
+        // When
+        stats.created(new BigDecimal("10.00"), 3);
+        stats.created(new BigDecimal("2.50"), 0);
+        stats.updated(new BigDecimal("10.00"), 3, new BigDecimal("12.00"), 0);
+        stats.deleted(new BigDecimal("2.50"), 0);
+
+        // Then
+        CatalogStats.Snapshot snapshot = stats.snapshot();
+        assertThat(snapshot.productCount()).isEqualTo(1);
+        assertThat(snapshot.totalStockUnits()).isZero();
+        assertThat(snapshot.inventoryValue()).isEqualByComparingTo("0.00");
+        assertThat(snapshot.outOfStockCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should replace drifted totals on recompute and keep counting afterwards")
+    void shouldCorrectDriftOnRecompute() throws Exception {
+        // Given
+        stats.created(new BigDecimal("99.99"), 1000);
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong(1)).thenReturn(2L);
+        when(row.getLong(2)).thenReturn(5L);
+        when(row.getBigDecimal(3)).thenReturn(new BigDecimal("20.00"));
+        when(row.getLong(4)).thenReturn(1L);
+        when(jdbc.queryForObject(anyString(), any(RowMapper.class)))
+            .thenAnswer(invocation -> invocation.<RowMapper<?>>getArgument(1).mapRow(row, 0));
+
+        // When
+        stats.recompute();
+        stats.created(new BigDecimal("1.50"), 2);
+
+        // Then
+        CatalogStats.Snapshot snapshot = stats.snapshot();
+        assertThat(snapshot.productCount()).isEqualTo(3);
+        assertThat(snapshot.totalStockUnits()).isEqualTo(7);
+        assertThat(snapshot.inventoryValue()).isEqualByComparingTo("23.00");
+        assertThat(snapshot.outOfStockCount()).isEqualTo(1);
+        assertThat(snapshot.recomputedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should only count a write once its transaction commits")
+    void shouldWaitForCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        stats.created(new BigDecimal("5.00"), 4);
+
+        // Then
+        assertThat(stats.snapshot().productCount()).isZero();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(stats.snapshot().productCount()).isEqualTo(1);
+        assertThat(stats.snapshot().inventoryValue()).isEqualByComparingTo("20.00");
+    }
+}
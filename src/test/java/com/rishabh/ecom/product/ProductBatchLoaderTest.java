@@ -0,0 +1,99 @@
+package com.rishabh.ecom.product;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ProductBatchLoader Unit Tests")
+class ProductBatchLoaderTest {
+
+    private final ProductRepository repo = mock(ProductRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ProductBatchLoader loader;
+
+    @AfterEach
+    void tearDown() {
+        loader.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should resolve concurrent misses with one deduplicated findAllById")
+    @SuppressWarnings("unchecked")
+    void shouldCoalesceConcurrentMisses() {
+        // Given
+        loader = loader(Duration.ofMillis(50), 100);
+        when(repo.findAllById(any())).thenReturn(List.of(product(1L), product(2L)));
+
+        // When
+        CompletableFuture<Optional<Product>> first = loader.loadAsync(1L);
+        CompletableFuture<Optional<Product>> second = loader.loadAsync(2L);
+        CompletableFuture<Optional<Product>> duplicate = loader.loadAsync(1L);
+        CompletableFuture<Optional<Product>> missing = loader.loadAsync(3L);
+
+        // Then
+        assertThat(first.join()).get().extracting(Product::getId).isEqualTo(1L);
+        assertThat(second.join()).get().extracting(Product::getId).isEqualTo(2L);
+        assertThat(duplicate.join()).get().extracting(Product::getId).isEqualTo(1L);
+        assertThat(missing.join()).isEmpty();
+        ArgumentCaptor<Iterable<Long>> ids = ArgumentCaptor.forClass(Iterable.class);
+        verify(repo, times(1)).findAllById(ids.capture());
+        assertThat(ids.getValue()).containsExactly(1L, 2L, 3L);
+        assertThat(registry.get("product.batch.size").summary().max()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should dispatch a full batch immediately instead of waiting for the window")
+    void shouldDispatchFullBatchImmediately() {
+        // Given
+        loader = loader(Duration.ofHours(1), 2);
+        when(repo.findAllById(any())).thenReturn(List.of(product(1L), product(2L)));
+
+        // When
+        CompletableFuture<Optional<Product>> first = loader.loadAsync(1L);
+        CompletableFuture<Optional<Product>> second = loader.loadAsync(2L);
+
+        // Then
+        assertThat(first).isDone();
+        assertThat(second.join()).isPresent();
+        assertThat(registry.get("product.batch.dispatches").tag("trigger", "full").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should load many ids with one findAllById and leave out missing ones")
+    void shouldLoadAllInOneBatch() {
+        // Given
+        loader = loader(Duration.ofMillis(50), 100);
+        when(repo.findAllById(any())).thenReturn(List.of(product(3L), product(1L)));
+
+        // When
+        Map<Long, Product> loaded = loader.loadAll(List.of(3L, 2L, 1L, 3L));
+
+        // Then
+        assertThat(loaded).containsOnlyKeys(3L, 1L);
+        verify(repo, times(1)).findAllById(any());
+    }
+
+    private ProductBatchLoader loader(Duration window, int maxSize) {
+        return new ProductBatchLoader(repo, mock(PlatformTransactionManager.class), registry, window, maxSize, 1);
+    }
+
+    private static Product product(Long id) {
+        return Product.builder().id(id).sku("SKU-" + id).name("Product " + id).build();
+    }
+}
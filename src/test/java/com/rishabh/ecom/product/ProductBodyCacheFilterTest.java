@@ -0,0 +1,106 @@
+package com.rishabh.ecom.product;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("ProductBodyCacheFilter Unit Tests")
+class ProductBodyCacheFilterTest {
+
+    private static final String BODY = "{\"id\":1,\"name\":\"" + "x".repeat(600) + "\"}";
+
+    private final ConcurrentMapCache cache = new ConcurrentMapCache(ProductBodyCacheFilter.CACHE);
+    private final ProductBodyCacheFilter filter = new ProductBodyCacheFilter(cache, 512, mock(ProductViewCounter.class));
+    private final AtomicInteger controllerCalls = new AtomicInteger();
+
+    private final FilterChain controller = (request, response) -> {
+        controllerCalls.incrementAndGet();
+        HttpServletResponse http = (HttpServletResponse) response;
+        http.setStatus(200);
+        http.setContentType("application/json");
+        http.setHeader("ETag", "\"42\"");
+        http.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+    };
+
+    @Test
+    @DisplayName("Should serve a repeat request from cached gzip bytes without calling the controller")
+    void shouldServeGzipFromCache() throws Exception {
+        // Given
+        filter.doFilter(get("/api/v1/products/1", "page=0&size=20"), new MockHttpServletResponse(), controller);
+
+        // When
+        MockHttpServletRequest request = get("/api/v1/products/1", "size=20&page=0");
+        request.addHeader("Accept-Encoding", "br, gzip;q=0.8");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, controller);
+
+        // Then
+        assertThat(controllerCalls).hasValue(1);
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(response.getHeader("ETag")).isEqualTo("\"42\"");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer a matching If-None-Match from cache with 304")
+    void shouldReturnNotModifiedOnHit() throws Exception {
+        // Given
+        filter.doFilter(get("/api/v1/products/1", null), new MockHttpServletResponse(), controller);
+
+        // When
+        MockHttpServletRequest request = get("/api/v1/products/1", null);
+        request.addHeader("If-None-Match", "\"42\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, controller);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(controllerCalls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache error responses")
+    void shouldNotCacheErrors() throws Exception {
+        // Given
+        FilterChain notFound = (request, response) -> {
+            controllerCalls.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(404);
+        };
+
+        // When
+        filter.doFilter(get("/api/v1/products/9", null), new MockHttpServletResponse(), notFound);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(get("/api/v1/products/9", null), response, notFound);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(controllerCalls).hasValue(2);
+    }
+
+    private static MockHttpServletRequest get(String path, String query) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (query != null) {
+            request.setQueryString(query);
+            for (String pair : query.split("&")) {
+                String[] kv = pair.split("=");
+                request.addParameter(kv[0], kv[1]);
+            }
+        }
+        return request;
+    }
+}
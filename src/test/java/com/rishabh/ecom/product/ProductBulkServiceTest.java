@@ -0,0 +1,141 @@
+package com.rishabh.ecom.product;
+
+import com.rishabh.ecom.product.dto.ProductDtos;
+import com.rishabh.ecom.product.dto.ProductDtos.BulkStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ProductBulkService Unit Tests")
+class ProductBulkServiceTest {
+
+    // id -> sku, standing in for the products table
+    private static final Map<Long, String> PRODUCTS = Map.of(1L, "SKU-1", 2L, "SKU-2", 3L, "SKU-3", 4L, "SKU-4");
+
+    private final NamedParameterJdbcTemplate jdbc = mock(NamedParameterJdbcTemplate.class);
+    private final JdbcTemplate plainJdbc = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ProductChangeFeed changeFeed = mock(ProductChangeFeed.class);
+    private final ProductBulkService service = new ProductBulkService(jdbc, new TransactionTemplate(transactionManager),
+        new ConcurrentMapCacheManager(), mock(CatalogStats.class), changeFeed, 2, 10);
+
+    @BeforeEach
+    void setUp() {
+        when(jdbc.getJdbcTemplate()).thenReturn(plainJdbc);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        doAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            Collection<?> keys = (Collection<?>) invocation.<Map<String, ?>>getArgument(1).values().iterator().next();
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (Map.Entry<Long, String> row : PRODUCTS.entrySet()) {
+                if (keys.contains(sql.contains("WHERE id IN") ? row.getKey() : row.getValue())) {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getLong(1)).thenReturn(row.getKey());
+                    when(rs.getString(2)).thenReturn(row.getValue());
+                    handler.processRow(rs);
+                }
+            }
+            return null;
+        }).when(jdbc).query(anyString(), anyMap(), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    @DisplayName("Should run one transaction and one batch per chunk of chunk-size items")
+    void shouldSplitIntoChunks() {
+        // Given: 5 items with chunk size 2
+        List<ProductDtos.PatchItem> items = List.of(price(1L), price(2L), price(3L), price(4L), price(1L));
+
+        // When
+        ProductDtos.BulkResult result = service.patch(items);
+
+        // Then
+        assertThat(result.succeeded()).isEqualTo(5);
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(3)).commit(any(TransactionStatus.class));
+        verify(plainJdbc, times(3)).batchUpdate(eq("UPDATE products SET price = ?, updated_at = ? WHERE id = ?"), anyList());
+    }
+
+    @Test
+    @DisplayName("Should report missing, conflicting and empty items without failing the rest of the chunk")
+    void shouldReportPerItemFailures() {
+        // Given
+        List<ProductDtos.PatchItem> items = List.of(
+            new ProductDtos.PatchItem(9L, null, "x", null, null, null),
+            new ProductDtos.PatchItem(1L, "SKU-2", "x", null, null, null),
+            new ProductDtos.PatchItem(null, "SKU-3", null, null, null, null),
+            new ProductDtos.PatchItem(null, "SKU-4", "Renamed", null, null, null));
+
+        // When
+        ProductDtos.BulkResult result = service.patch(items);
+
+        // Then
+        assertThat(result.results()).extracting(ProductDtos.BulkItemResult::status)
+            .containsExactly(BulkStatus.NOT_FOUND, BulkStatus.INVALID, BulkStatus.INVALID, BulkStatus.UPDATED);
+        assertThat(result.results().get(3).id()).isEqualTo(4L);
+        assertThat(result.failed()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep committed chunks when a later chunk fails")
+    void shouldKeepEarlierChunksOnFailure() {
+        // Given: the second chunk's batch fails
+        when(plainJdbc.batchUpdate(anyString(), anyList()))
+            .thenReturn(new int[]{1, 1})
+            .thenThrow(new QueryTimeoutException("timeout"));
+
+        // When / Then
+        assertThatThrownBy(() -> service.patch(List.of(price(1L), price(2L), price(3L))))
+            .isInstanceOf(QueryTimeoutException.class);
+        verify(transactionManager, times(1)).commit(any(TransactionStatus.class));
+        verify(transactionManager, times(1)).rollback(any(TransactionStatus.class));
+    }
+
+    @Test
+    @DisplayName("Should delete a product named twice once and report the repeat as not found")
+    void shouldDeduplicateDeletes() {
+        // Given: 1 by id twice and by sku, all in one chunk
+        ProductBulkService wide = new ProductBulkService(jdbc, new TransactionTemplate(transactionManager),
+            new ConcurrentMapCacheManager(), mock(CatalogStats.class), changeFeed, 10, 10);
+
+        // When
+        ProductDtos.BulkResult result = wide.delete(new ProductDtos.BulkDelete(List.of(1L, 1L, 9L), List.of("SKU-1", "SKU-2")));
+
+        // Then
+        assertThat(result.results()).extracting(ProductDtos.BulkItemResult::status).containsExactly(
+            BulkStatus.DELETED, BulkStatus.NOT_FOUND, BulkStatus.NOT_FOUND, BulkStatus.NOT_FOUND, BulkStatus.DELETED);
+        assertThat(result.succeeded()).isEqualTo(2);
+        verify(changeFeed).deleted(Map.of(1L, "SKU-1", 2L, "SKU-2"));
+    }
+
+    private static ProductDtos.PatchItem price(Long id) {
+        return new ProductDtos.PatchItem(id, null, null, null, new BigDecimal("1.00"), null);
+    }
+}
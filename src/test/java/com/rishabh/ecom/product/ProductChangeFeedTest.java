@@ -0,0 +1,83 @@
+package com.rishabh.ecom.product;
+
+import com.rishabh.ecom.product.dto.ProductDtos;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ProductChangeFeed Unit Tests")
+class ProductChangeFeedTest {
+
+    private final NamedParameterJdbcTemplate jdbc = mock(NamedParameterJdbcTemplate.class);
+    private final ProductChangeFeed feed = new ProductChangeFeed(jdbc, Duration.ofSeconds(10), Duration.ofDays(7), 2);
+
+    @Test
+    @DisplayName("Should resume a full page after its last row and flag that more is available")
+    @SuppressWarnings("unchecked")
+    void shouldContinueAfterLastRow() {
+        // Given: limit + 1 products come back, so the page is full
+        Instant updatedAt = Instant.parse("2025-01-01T00:00:00Z");
+        when(jdbc.query(anyString(), anyMap(), any(RowMapper.class))).thenAnswer(invocation ->
+            invocation.<String>getArgument(0).contains("FROM products ")
+                ? List.of(product(1L, updatedAt), product(2L, updatedAt), product(3L, updatedAt))
+                : List.of());
+
+        // When
+        ProductDtos.Changes changes = feed.changes(null, 10);
+
+        // Then
+        assertThat(changes.updated()).extracting(Product::getId).containsExactly(1L, 2L);
+        assertThat(changes.hasMore()).isTrue();
+        ProductChangeFeed.Token next = ProductChangeFeed.Token.decode(changes.next());
+        assertThat(next.products()).isEqualTo(new ProductChangeFeed.Cursor(updatedAt, 2L));
+    }
+
+    @Test
+    @DisplayName("Should move a drained stream's cursor up to the settled bound")
+    @SuppressWarnings("unchecked")
+    void shouldAdvanceDrainedCursor() {
+        // Given
+        when(jdbc.query(anyString(), anyMap(), any(RowMapper.class))).thenReturn(List.of());
+        Instant before = Instant.now().minusSeconds(10).truncatedTo(ChronoUnit.MILLIS);
+
+        // When
+        ProductDtos.Changes changes = feed.changes(null, 10);
+
+        // Then
+        assertThat(changes.hasMore()).isFalse();
+        ProductChangeFeed.Token next = ProductChangeFeed.Token.decode(changes.next());
+        assertThat(next.products().at()).isAfterOrEqualTo(before).isBefore(Instant.now().minusSeconds(9));
+        assertThat(next.products().id()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject malformed tokens and tokens older than the tombstone retention")
+    void shouldRejectBadTokens() {
+        // Given
+        ProductChangeFeed.Cursor stale = new ProductChangeFeed.Cursor(Instant.now().minus(Duration.ofDays(8)), 0);
+        String expired = new ProductChangeFeed.Token(stale, stale).encode();
+
+        // When / Then
+        assertThatThrownBy(() -> feed.changes("not-a-token", 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> feed.changes(expired, 10)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static Product product(Long id, Instant updatedAt) {
+        return Product.builder().id(id).sku("SKU-" + id).name("Product " + id).updatedAt(updatedAt).build();
+    }
+}
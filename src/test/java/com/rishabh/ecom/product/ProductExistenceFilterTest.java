@@ -0,0 +1,57 @@
+package com.rishabh.ecom.product;
+
+import com.rishabh.ecom.db.ReadConsistency;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ProductExistenceFilter Unit Tests")
+class ProductExistenceFilterTest {
+
+    private final ProductExistenceGuard guard = mock(ProductExistenceGuard.class);
+    private final ProductExistenceFilter filter = new ProductExistenceFilter(guard, Duration.ofSeconds(6));
+    private final FilterChain chain = mock(FilterChain.class);
+
+    @Test
+    @DisplayName("Should keep guarding requests whose consistency token is forged or expired")
+    void shouldIgnoreInvalidToken() throws Exception {
+        // Given
+        when(guard.definitelyAbsentId(2L, false)).thenReturn(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products/2");
+        request.addHeader(ReadConsistency.HEADER, "1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(404);
+        verify(chain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should tell the guard about a fresh consistency token")
+    void shouldPassFreshTokenToGuard() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products/3");
+        request.addHeader(ReadConsistency.HEADER, Long.toString(System.currentTimeMillis()));
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Then
+        verify(guard).definitelyAbsentId(3L, true);
+        verify(chain).doFilter(any(), any());
+    }
+}
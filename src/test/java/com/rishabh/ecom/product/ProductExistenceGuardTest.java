@@ -0,0 +1,106 @@
+package com.rishabh.ecom.product;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ProductExistenceGuard Unit Tests")
+class ProductExistenceGuardTest {
+
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    // id -> sku, standing in for the products table
+    private final TreeMap<Long, String> products = new TreeMap<>();
+    private final ProductExistenceGuard guard = new ProductExistenceGuard(jdbc, new SimpleMeterRegistry(), true, 0.01,
+        Duration.ofHours(1), Duration.ofSeconds(30), 100);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(jdbc.queryForObject(anyString(), eq(Long.class))).thenAnswer(invocation -> (long) products.size());
+        doAnswer(invocation -> {
+            long afterId = invocation.getArgument(2);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Map.Entry<Long, String> row : products.tailMap(afterId, false).entrySet()) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong(1)).thenReturn(row.getKey());
+                when(rs.getString(2)).thenReturn(row.getValue());
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbc).query(anyString(), any(RowCallbackHandler.class), any(Object.class));
+        products.put(1L, "SKU-1");
+        products.put(3L, "SKU-3");
+        guard.refresh();
+    }
+
+    @Test
+    @DisplayName("Should reject unknown ids up to the watermark and never above it")
+    void shouldRejectOnlyBelowWatermark() {
+        // Then
+        assertThat(guard.definitelyAbsentId(1L)).isFalse();
+        assertThat(guard.definitelyAbsentId(2L)).isTrue();
+        assertThat(guard.definitelyAbsentId(0L)).isTrue();
+        // 4 may have been created by another instance since the scan
+        assertThat(guard.definitelyAbsentId(4L)).isFalse();
+        assertThat(guard.definitelyAbsentSku("SKU-3")).isFalse();
+        assertThat(guard.definitelyAbsentSku("SKU-2")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should remember misses below the watermark but ignore them above it")
+    void shouldUseNegativeCacheBelowWatermarkOnly() {
+        // Given: 3 was deleted after the filter was built; 5 doesn't exist yet
+        guard.recordAbsentId(3L);
+        guard.recordAbsentId(5L);
+
+        // Then
+        assertThat(guard.definitelyAbsentId(3L)).isTrue();
+        assertThat(guard.definitelyAbsentId(5L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should drop remembered misses for products a refresh finds")
+    void shouldClearNegativeCacheOnRefresh() {
+        // Given: a product another instance created after a lookup here missed
+        guard.recordAbsentSku("SKU-7");
+        assertThat(guard.definitelyAbsentSku("SKU-7")).isTrue();
+        products.put(7L, "SKU-7");
+
+        // When
+        guard.refresh();
+
+        // Then
+        assertThat(guard.definitelyAbsentSku("SKU-7")).isFalse();
+        assertThat(guard.definitelyAbsentId(7L)).isFalse();
+        assertThat(guard.definitelyAbsentId(6L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should skip only the negative cache after a recent write")
+    void shouldSkipNegativeCacheAfterRecentWrite() {
+        // Given
+        guard.recordAbsentId(3L);
+        guard.recordAbsentSku("SKU-3");
+
+        // Then: the remembered misses may predate the write, the Bloom filter can't
+        assertThat(guard.definitelyAbsentId(3L, true)).isFalse();
+        assertThat(guard.definitelyAbsentSku("SKU-3", true)).isFalse();
+        assertThat(guard.definitelyAbsentId(2L, true)).isTrue();
+        assertThat(guard.definitelyAbsentSku("SKU-2", true)).isTrue();
+    }
+}
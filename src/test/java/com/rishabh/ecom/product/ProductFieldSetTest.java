@@ -0,0 +1,62 @@
+package com.rishabh.ecom.product;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ProductFieldSet Unit Tests")
+class ProductFieldSetTest {
+
+    @Test
+    @DisplayName("Should canonicalize order and duplicates to one shared instance")
+    void shouldCanonicalize() {
+        // When
+        ProductFieldSet a = ProductFieldSet.parse("price, id,name");
+        ProductFieldSet b = ProductFieldSet.parse("name,id,price,id");
+
+        // Then
+        assertThat(a.key()).isEqualTo("id,name,price");
+        assertThat(a).isSameAs(b);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown or empty field lists")
+    void shouldRejectUnknownFields() {
+        assertThatThrownBy(() -> ProductFieldSet.parse("id,password"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("password");
+        assertThatThrownBy(() -> ProductFieldSet.parse(" , "))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should render only the selected fields")
+    void shouldRenderSelectedFields() {
+        // Given
+        ProductFieldSet fields = ProductFieldSet.parse("id,price,updatedAt");
+        Product product = Product.builder()
+            .id(7L)
+            .name("Lamp")
+            .description("Long text")
+            .price(new BigDecimal("19.90"))
+            .sku("LAMP-7")
+            .stockQty(3)
+            .updatedAt(Instant.parse("2025-03-01T10:15:30Z"))
+            .build();
+
+        // When
+        String single = fields.renderProduct(product);
+        String page = fields.renderPage(List.<Object[]>of(new Object[]{8L, null, null}), 0, 20, 1, 1);
+
+        // Then
+        assertThat(single).isEqualTo("{\"id\":7,\"price\":19.90,\"updatedAt\":\"2025-03-01T10:15:30Z\"}");
+        assertThat(page).isEqualTo(
+            "{\"content\":[{\"id\":8,\"price\":null,\"updatedAt\":null}],\"page\":0,\"size\":20,\"totalElements\":1,\"totalPages\":1}");
+    }
+}
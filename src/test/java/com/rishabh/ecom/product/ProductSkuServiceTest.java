@@ -0,0 +1,97 @@
+package com.rishabh.ecom.product;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ProductSkuService Unit Tests")
+class ProductSkuServiceTest {
+
+    private final ProductRepository repo = mock(ProductRepository.class);
+    private final ProductService productService = mock(ProductService.class);
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+    // No filter built yet, so only the negative cache can reject
+    private final ProductExistenceGuard existence = new ProductExistenceGuard(
+        mock(JdbcTemplate.class), new SimpleMeterRegistry(), true, 0.01,
+        Duration.ofHours(1), Duration.ofSeconds(30), 100);
+    private final ProductSkuService service = new ProductSkuService(repo, productService, existence, cacheManager, 3);
+
+    @Test
+    @DisplayName("Should answer a batch in request order from the caches plus one IN query")
+    void shouldResolveBatchWithOneQuery() {
+        // Given
+        cacheManager.getCache(ProductSkuService.CACHE).put("A-1", 1L);
+        cacheManager.getCache("productById").put(1L, product(1L, "A-1"));
+        when(repo.findBySkuIn(List.of("B-2", "C-3"))).thenReturn(List.of(product(2L, "B-2")));
+
+        // When
+        ProductSkuService.BatchResult result = service.getProductsBySku(List.of("B-2", "A-1", "C-3", "B-2"));
+
+        // Then
+        assertThat(result.products()).extracting(Product::getSku).containsExactly("B-2", "A-1");
+        assertThat(result.missing()).containsExactly("C-3");
+        assertThat(cacheManager.getCache(ProductSkuService.CACHE).get("B-2", Long.class)).isEqualTo(2L);
+        verify(repo, never()).findAllById(any());
+        assertThat(existence.definitelyAbsentSku("C-3")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should drop a stale SKU mapping and look the SKU up again")
+    void shouldRetryStaleMapping() {
+        // Given: SKU re-created under a new id after an eviction was lost
+        cacheManager.getCache(ProductSkuService.CACHE).put("A-1", 1L);
+        when(productService.getProductById(1L)).thenReturn(Optional.empty());
+        when(repo.findBySku("A-1")).thenReturn(Optional.of(product(7L, "A-1")));
+
+        // When
+        Optional<Product> result = service.getProductBySku("A-1");
+
+        // Then
+        assertThat(result).map(Product::getId).contains(7L);
+        assertThat(cacheManager.getCache(ProductSkuService.CACHE).get("A-1", Long.class)).isEqualTo(7L);
+        assertThat(existence.definitelyAbsentSku("A-1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should ignore batch rows that only match under a case-insensitive collation")
+    void shouldMatchBatchSkusExactly() {
+        // Given: the IN query also returns the row stored as "B-2" for "b-2"
+        when(repo.findBySkuIn(List.of("b-2"))).thenReturn(List.of(product(2L, "B-2")));
+
+        // When
+        ProductSkuService.BatchResult result = service.getProductsBySku(List.of("b-2"));
+
+        // Then
+        assertThat(result.products()).isEmpty();
+        assertThat(result.missing()).containsExactly("b-2");
+        assertThat(cacheManager.getCache(ProductSkuService.CACHE).get("B-2")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject batches above the configured size")
+    void shouldRejectOversizedBatch() {
+        // When / Then
+        assertThatThrownBy(() -> service.getProductsBySku(List.of("A", "B", "C", "D")))
+            .isInstanceOf(IllegalArgumentException.class);
+        verify(repo, never()).findBySkuIn(anyCollection());
+    }
+
+    private static Product product(Long id, String sku) {
+        return Product.builder().id(id).sku(sku).name("Product " + id).build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.rishabh.ecom.product;
+
+import com.rishabh.ecom.product.dto.ProductDtos;
+import com.rishabh.ecom.user.UserCacheInvalidationListener;
+import com.rishabh.ecom.user.UserProfileCache;
+import com.rishabh.ecom.user.UserRoleCollectionListener;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Records every statement Hibernate prepares, so the tests can check the select list
+ * of the projection query as well as its results.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.rishabh.ecom.product.ProductSummaryQueriesTest$RecordingInspector")
+@ActiveProfiles("test")
+@Import({UserProfileCache.class, UserCacheInvalidationListener.class, UserRoleCollectionListener.class})
+@DisplayName("Product summary projection")
+class ProductSummaryQueriesTest {
+
+    @Autowired
+    private ProductRepository products;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 5; i++) {
+            entityManager.persist(Product.builder()
+                .sku("SUM-" + i)
+                .name("Summary " + i)
+                .description("Long description " + i)
+                .price(new BigDecimal("10.00").add(BigDecimal.valueOf(i)))
+                .stockQty(i)
+                .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        RecordingInspector.SQL.clear();
+    }
+
+    @Test
+    @DisplayName("Should select only the summary columns and return the requested page")
+    void shouldSelectSummaryColumnsOnly() {
+        // When
+        Page<ProductDtos.Summary> page = products.findSummaries(
+            ProductSpecifications.matchingQuery(null), PageRequest.of(1, 2, Sort.by("sku")));
+
+        // Then
+        assertThat(page.getContent()).extracting(ProductDtos.Summary::sku).containsExactly("SUM-3", "SUM-4");
+        assertThat(page.getContent().get(0).price()).isEqualByComparingTo("13.00");
+        assertThat(page.getContent().get(0).stockQty()).isEqualTo(3);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+
+        String select = selectList(RecordingInspector.SQL.get(0));
+        assertThat(select).contains("sku", "name", "price", "stock_qty");
+        assertThat(select).doesNotContain("description", "created_at", "updated_at");
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount())
+            .as("no Product entities hydrated into the persistence context")
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("Should skip the count query on a short last page")
+    void shouldSkipCountOnLastPage() {
+        // When
+        Page<ProductDtos.Summary> page = products.findSummaries(
+            ProductSpecifications.matchingQuery(null), PageRequest.of(2, 2, Sort.by("sku")));
+
+        // Then
+        assertThat(page.getContent()).extracting(ProductDtos.Summary::sku).containsExactly("SUM-5");
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(RecordingInspector.SQL).hasSize(1);
+        assertThat(RecordingInspector.SQL.get(0).toLowerCase(Locale.ROOT)).doesNotContain("count(");
+    }
+
+    private static String selectList(String sql) {
+        String lower = sql.toLowerCase(Locale.ROOT);
+        return lower.substring(0, lower.indexOf(" from "));
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.rishabh.ecom.product;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ProductViewCounter Unit Tests")
+class ProductViewCounterTest {
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Test
+    @DisplayName("Should rank local views within the sliding window only")
+    void shouldRankWithinWindow() {
+        // Given: no Redis, so rankings come from this node's ring
+        MutableClock clock = new MutableClock();
+        ProductViewCounter counter = new ProductViewCounter(null, clock, Duration.ofMinutes(1),
+            Duration.ofMinutes(10), Duration.ZERO, 100);
+        record(counter, 1L, 5);
+        clock.advance(Duration.ofMinutes(5));
+        record(counter, 2L, 3);
+        record(counter, 3L, 4);
+
+        // When / Then
+        assertThat(counter.top(Duration.ofMinutes(10), 2))
+            .containsExactly(new ProductViewCounter.Ranked(1L, 5), new ProductViewCounter.Ranked(3L, 4));
+        assertThat(counter.top(Duration.ofMinutes(2), 10))
+            .extracting(ProductViewCounter.Ranked::productId).containsExactly(3L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should reuse a ring slot for a new bucket once its window has passed")
+    void shouldRotateExpiredSlots() {
+        // Given
+        MutableClock clock = new MutableClock();
+        ProductViewCounter counter = new ProductViewCounter(null, clock, Duration.ofMinutes(1),
+            Duration.ofMinutes(3), Duration.ZERO, 100);
+        record(counter, 1L, 2);
+
+        // When: the ring has 4 slots, so minute 4 lands on minute 0's slot
+        clock.advance(Duration.ofMinutes(4));
+        record(counter, 1L, 1);
+
+        // Then
+        assertThat(counter.top(Duration.ofMinutes(3), 10)).containsExactly(new ProductViewCounter.Ranked(1L, 1));
+    }
+
+    @Test
+    @DisplayName("Should keep counting products beyond the table capacity")
+    void shouldCountPastTableCapacity() {
+        // Given: more distinct products than the per-bucket table holds
+        ProductViewCounter.ViewTable table = new ProductViewCounter.ViewTable();
+        for (long id = 0; id < 5_000; id++) {
+            table.adder(id).add(id);
+        }
+        table.adder(4_999L).increment();
+
+        // When
+        Map<Long, Long> counts = new HashMap<>();
+        table.forEach((id, adder) -> counts.put(id, adder.sum()));
+
+        // Then: every id is seen once, with its own count
+        assertThat(counts).hasSize(5_000);
+        assertThat(counts.get(0L)).isZero();
+        assertThat(counts.get(1_234L)).isEqualTo(1_234L);
+        assertThat(counts.get(4_999L)).isEqualTo(5_000L);
+        assertThat(table.adder(42L)).isSameAs(table.adder(42L));
+    }
+
+    private static void record(ProductViewCounter counter, long productId, int times) {
+        for (int i = 0; i < times; i++) {
+            counter.record(productId);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = START;
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.rishabh.ecom.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("GradientLimiter Unit Tests")
+class GradientLimiterTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    @DisplayName("Should reject acquisitions beyond the current limit")
+    void shouldRejectAtLimit() {
+        // Given
+        GradientLimiter limiter = new GradientLimiter(2, 1, 10, 1.5, 0.2, 100);
+
+        // When
+        int first = limiter.tryAcquire();
+        int second = limiter.tryAcquire();
+        int third = limiter.tryAcquire();
+
+        // Then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(2);
+        assertThat(third).isEqualTo(-1);
+        assertThat(limiter.inflight()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should grow while latency is steady and shrink once it rises")
+    void shouldFollowLatencyGradient() {
+        // Given
+        GradientLimiter limiter = new GradientLimiter(10, 2, 100, 1.5, 0.2, 100);
+
+        // When
+        for (int i = 0; i < 200; i++) {
+            saturateAndSample(limiter, 10 * MILLIS);
+        }
+        int steadyLimit = limiter.limit();
+        saturateAndSample(limiter, 80 * MILLIS);
+
+        // Then
+        assertThat(steadyLimit).isGreaterThan(10);
+        assertThat(limiter.limit()).isLessThan(steadyLimit);
+    }
+
+    @Test
+    @DisplayName("Should not grow when traffic uses less than half the limit")
+    void shouldNotGrowWhenAppLimited() {
+        // Given
+        GradientLimiter limiter = new GradientLimiter(20, 2, 100, 1.5, 0.2, 100);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            int inflight = limiter.tryAcquire();
+            limiter.release(10 * MILLIS, inflight);
+        }
+
+        // Then
+        assertThat(limiter.limit()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should keep the limit in bounds under concurrent releases")
+    void shouldStayInBoundsUnderConcurrency() throws Exception {
+        // Given
+        GradientLimiter limiter = new GradientLimiter(10, 2, 50, 1.5, 0.2, 100);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        // When
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                long rttNanos = (t + 1) * 5 * MILLIS;
+                workers.add(pool.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        int inflight = limiter.tryAcquire();
+                        if (inflight > 0) {
+                            limiter.release(rttNanos, inflight);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        // Then
+        assertThat(limiter.inflight()).isZero();
+        assertThat(limiter.limit()).isBetween(2, 50);
+    }
+
+    private static void saturateAndSample(GradientLimiter limiter, long rttNanos) {
+        int inflight = limiter.limit();
+        for (int i = 0; i < inflight; i++) {
+            limiter.tryAcquire();
+        }
+        for (int i = 0; i < inflight; i++) {
+            limiter.release(rttNanos, inflight);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.rishabh.ecom.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RouteClass Unit Tests")
+class RouteClassTest {
+
+    @Test
+    @DisplayName("Should give bulk PATCH/DELETE their own class and keep single-product writes in admin-write")
+    void shouldSeparateBulkWrites() {
+        // When / Then
+        assertThat(RouteClass.of(new MockHttpServletRequest("PATCH", "/api/v1/products"))).isEqualTo(RouteClass.BULK_WRITE);
+        assertThat(RouteClass.of(new MockHttpServletRequest("DELETE", "/api/v1/products"))).isEqualTo(RouteClass.BULK_WRITE);
+        assertThat(RouteClass.of(new MockHttpServletRequest("DELETE", "/api/v1/products/7"))).isEqualTo(RouteClass.ADMIN_WRITE);
+        assertThat(RouteClass.of(new MockHttpServletRequest("POST", "/api/v1/products"))).isEqualTo(RouteClass.ADMIN_WRITE);
+        assertThat(RouteClass.of(new MockHttpServletRequest("GET", "/api/v1/products/7"))).isEqualTo(RouteClass.GET_BY_ID);
+    }
+}
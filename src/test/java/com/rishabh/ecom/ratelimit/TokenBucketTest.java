@@ -0,0 +1,76 @@
+package com.rishabh.ecom.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TokenBucket Unit Tests")
+class TokenBucketTest {
+
+    private final RateLimitTier tier = new RateLimitTier("ROLE_USER", 10, Duration.ofSeconds(10));
+
+    @Test
+    @DisplayName("Should admit a full burst then reject")
+    void shouldAdmitBurstThenReject() {
+        // Given
+        TokenBucket bucket = tier.newBucket();
+        long now = 1_000L;
+
+        // When/Then
+        for (int i = 0; i < 10; i++) {
+            assertThat(bucket.tryAcquire(now)).isZero();
+        }
+        long wait = bucket.tryAcquire(now);
+        assertThat(wait).isPositive();
+        assertThat(wait).isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    @DisplayName("Should refill one token per emission interval")
+    void shouldRefillOverTime() {
+        // Given
+        TokenBucket bucket = tier.newBucket();
+        long now = 0L;
+        for (int i = 0; i < 10; i++) {
+            bucket.tryAcquire(now);
+        }
+
+        // When
+        long later = now + TimeUnit.SECONDS.toNanos(1);
+
+        // Then
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should report idle once fully refilled")
+    void shouldBecomeIdle() {
+        // Given
+        TokenBucket bucket = tier.newBucket();
+        bucket.tryAcquire(0L);
+
+        // Then
+        assertThat(bucket.isIdle(0L)).isFalse();
+        assertThat(bucket.isIdle(TimeUnit.SECONDS.toNanos(1))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject a tier without capacity or period instead of failing per request")
+    void shouldRejectInvalidTier() {
+        // When/Then
+        assertThatThrownBy(() -> new RateLimitTier("ROLE_USER", 0, Duration.ofMinutes(1)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RateLimitTier("ROLE_USER", 10, Duration.ZERO))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RateLimitProperties(true, "local", Duration.ofMinutes(1), 100,
+            Map.of("ROLE_USER", 0), "ratelimit:"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
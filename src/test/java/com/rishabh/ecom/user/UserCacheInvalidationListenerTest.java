@@ -0,0 +1,86 @@
+package com.rishabh.ecom.user;
+
+import com.rishabh.ecom.user.UserProfileCache.UserProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Commits for real, so the tests can tell evictions made at flush from evictions after commit.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({UserProfileCache.class, UserCacheInvalidationListener.class, UserRoleCollectionListener.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("User profile cache invalidation")
+class UserCacheInvalidationListenerTest {
+
+    @Autowired
+    private UserRepository users;
+
+    @Autowired
+    private RoleRepository roles;
+
+    @Autowired
+    private UserProfileCache profileCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        users.deleteAll();
+        roles.deleteAll();
+        Role user = roles.save(new Role("ROLE_USER"));
+        roles.save(new Role("ROLE_ADMIN"));
+        User saved = new User("old@example.com", "hash");
+        saved.getRoles().add(user);
+        userId = users.save(saved).getId();
+        profileCache.clear();
+        profileCache.put(new UserProfile(userId, "old@example.com", true, Set.of("ROLE_USER")));
+    }
+
+    @Test
+    @DisplayName("Should evict the previous email after the rename commits")
+    void shouldEvictOldEmailAfterCommit() {
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            User user = users.findById(userId).orElseThrow();
+            user.setEmail("new@example.com");
+            users.flush();
+
+            // Then: still served until the rename is visible to other transactions
+            assertThat(profileCache.get("old@example.com")).isPresent();
+        });
+
+        // Then
+        assertThat(profileCache.get("old@example.com")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should evict the profile when only the role set changes")
+    void shouldEvictOnRoleChange() {
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            User user = users.findById(userId).orElseThrow();
+            user.getRoles().add(roles.findByName("ROLE_ADMIN").orElseThrow());
+        });
+
+        // Then
+        assertThat(profileCache.get("old@example.com")).isEmpty();
+    }
+}
@@ -0,0 +1,40 @@
+package com.rishabh.ecom.user;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UserProfileCache Unit Tests")
+class UserProfileCacheTest {
+
+    private final UserProfileCache cache = new UserProfileCache(100, Duration.ofMinutes(5));
+
+    @Test
+    @DisplayName("Should evict down to the low-water mark once full, then admit puts without evicting")
+    void shouldEvictInBatches() {
+        // Given
+        for (int i = 0; i < 100; i++) {
+            cache.put(profile(i));
+        }
+
+        // When
+        cache.put(profile(100));
+        int afterEviction = cache.size();
+        for (int i = 101; i < 110; i++) {
+            cache.put(profile(i));
+        }
+
+        // Then
+        assertThat(afterEviction).isEqualTo(91);
+        assertThat(cache.size()).isEqualTo(100);
+        assertThat(cache.get("user-109@example.com")).isPresent();
+    }
+
+    private static UserProfileCache.UserProfile profile(long id) {
+        return new UserProfileCache.UserProfile(id, "user-" + id + "@example.com", true, Set.of("ROLE_USER"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.rishabh.ecom.user;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs without the test-managed transaction: each lookup gets its own session, so repeat
+ * loads can only be answered by the second-level cache.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({UserProfileCache.class, UserCacheInvalidationListener.class, UserRoleCollectionListener.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("User second-level cache")
+class UserRepositoryCacheTest {
+
+    @Autowired
+    private UserRepository users;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        users.deleteAll();
+        users.save(new User("cached@example.com", "hash"));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should answer a repeat lookup by email from the cache without a query")
+    void shouldHitCacheOnSecondLookup() {
+        // Given
+        users.findByEmail("cached@example.com");
+        long statements = statistics.getPrepareStatementCount();
+        long naturalIdHits = statistics.getNaturalIdCacheHitCount();
+
+        // When
+        Optional<User> again = users.findByEmail("cached@example.com");
+
+        // Then
+        assertThat(again).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(naturalIdHits + 1);
+    }
+
+    @Test
+    @DisplayName("Should not serve the cached user or email after an update")
+    void shouldInvalidateOnUpdate() {
+        // Given
+        Long id = users.findByEmail("cached@example.com").orElseThrow().getId();
+
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            User user = users.findById(id).orElseThrow();
+            user.setEmail("renamed@example.com");
+            user.setEnabled(false);
+        });
+
+        // Then
+        assertThat(users.findByEmail("cached@example.com")).isEmpty();
+        assertThat(users.findByEmail("renamed@example.com"))
+            .hasValueSatisfying(user -> assertThat(user.getEnabled()).isFalse());
+    }
+}